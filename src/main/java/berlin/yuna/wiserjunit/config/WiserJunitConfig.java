@@ -1,5 +1,8 @@
 package berlin.yuna.wiserjunit.config;
 
+import berlin.yuna.wiserjunit.logic.ReportGeneratorHtml;
+import berlin.yuna.wiserjunit.logic.ReportLock;
+import berlin.yuna.wiserjunit.logic.ReportWriter;
 import berlin.yuna.wiserjunit.model.bdd.Bdd;
 import berlin.yuna.wiserjunit.model.bdd.BddCore;
 import berlin.yuna.wiserjunit.model.exception.WiserExtensionException;
@@ -25,6 +28,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static berlin.yuna.wiserjunit.logic.FileUtils.validatePath;
 import static java.util.Arrays.asList;
@@ -40,7 +44,21 @@ public class WiserJunitConfig {
     private boolean generateHtml = true;
     private boolean generateCsv = true;
     private boolean generateYaml = true;
+    private boolean generateBinary = false;
+    private boolean compactOutput = false;
     private int errorPreviewLines = 1;
+    private int checkpointInterval = 0;
+    private long lockTimeoutMs = 30000;
+    private int writerQueueSize = 4096;
+    private ReportWriter.BackPressure writerBackPressure = ReportWriter.BackPressure.BLOCK;
+    private ReportGeneratorHtml.HtmlMode htmlMode = ReportGeneratorHtml.HtmlMode.TABLE;
+    private int historyRuns = 20;
+    private int historyMaxAgeDays = 30;
+    private int regressionRuns = 10;
+    private double regressionRatio = 1.5;
+    private long regressionMinMs = 50;
+    private boolean regressionFail = false;
+    private boolean measureResources = false;
     private String projectDir = System.getProperty("user.dir");
     private Path outputDir = Paths.get(projectDir, TARGET_FOLDER, "wiser-unit");
     private Set<String> classesIgnore = new HashSet<>();
@@ -49,6 +67,9 @@ public class WiserJunitConfig {
     public static final ObjectMapper MAPPER_YAML = configure(new ObjectMapper(new YAMLFactory()));
     public static final ObjectMapper MAPPER_JSON = configure(new ObjectMapper());
     private static final String TARGET_FOLDER = "target";
+    private static final String JOURNAL_PREFIX = "report-";
+    private static final String CONTAINER_JOURNAL_PREFIX = "containers-";
+    private static final String JOURNAL_SUFFIX = ".jsonl";
 
     public WiserJunitConfig() {
         //TODO: overwrite config from environment variables
@@ -119,6 +140,22 @@ public class WiserJunitConfig {
         this.generateYaml = generateYaml;
     }
 
+    public boolean isGenerateBinary() {
+        return generateBinary;
+    }
+
+    public void setGenerateBinary(final boolean generateBinary) {
+        this.generateBinary = generateBinary;
+    }
+
+    public boolean isCompactOutput() {
+        return compactOutput;
+    }
+
+    public void setCompactOutput(final boolean compactOutput) {
+        this.compactOutput = compactOutput;
+    }
+
     public Path getOutputLockRaw() {
         return Paths.get(outputDir.toString(), "wiser-report.lock");
     }
@@ -127,6 +164,39 @@ public class WiserJunitConfig {
         return Paths.get(outputDir.toString(), "report.json");
     }
 
+    public Path getOutputJournalRaw() {
+        return Paths.get(outputDir.toString(), JOURNAL_PREFIX + ProcessHandle.current().pid() + JOURNAL_SUFFIX);
+    }
+
+    public List<Path> getOutputJournals() {
+        return journals(JOURNAL_PREFIX);
+    }
+
+    /**
+     * @return journal of the {@link berlin.yuna.wiserjunit.model.ContainerCase}s of this JVM
+     */
+    public Path getOutputContainerJournalRaw() {
+        return Paths.get(outputDir.toString(), CONTAINER_JOURNAL_PREFIX + ProcessHandle.current().pid() + JOURNAL_SUFFIX);
+    }
+
+    public List<Path> getOutputContainerJournals() {
+        return journals(CONTAINER_JOURNAL_PREFIX);
+    }
+
+    private List<Path> journals(final String prefix) {
+        if (!Files.isDirectory(outputDir)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(outputDir)) {
+            return files.filter(path -> {
+                final String name = path.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(JOURNAL_SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new WiserExtensionException("Could not list journals in [" + outputDir + "]", e);
+        }
+    }
+
     public Optional<Path> getOutputJson() {
         return validatePath(getOutputJsonRaw());
     }
@@ -144,13 +214,42 @@ public class WiserJunitConfig {
         return generateCsv ? validatePath(Paths.get(outputDir.toString(), "report.csv")) : Optional.empty();
     }
 
+    public Optional<Path> getOutputBinary() {
+        return generateBinary ? validatePath(Paths.get(outputDir.toString(), "report.bin")) : Optional.empty();
+    }
+
     public Optional<Path> getOutputHtml() {
         return generateHtml ? validatePath(Paths.get(outputDir.toString(), "report.html")) : Optional.empty();
     }
 
+    /**
+     * @return folder of the lazy loaded data files of {@link ReportGeneratorHtml.HtmlMode#CHUNKED}
+     */
+    public Path getOutputHtmlDataRaw() {
+        return Paths.get(outputDir.toString(), "report-data");
+    }
+
+    /**
+     * @return search index of the html report
+     */
+    public Path getOutputHtmlSearchRaw() {
+        return Paths.get(outputDir.toString(), "report-search.js");
+    }
+
+    /**
+     * @return folder of the run history - not deleted by {@link #isGenerateNew()}
+     */
+    public Path getOutputHistoryDir() {
+        return Paths.get(outputDir.toString(), "history");
+    }
+
+    public Optional<Path> getOutputRenderTimes() {
+        return validatePath(Paths.get(outputDir.toString(), "report-timings.json"));
+    }
+
     public List<Path> getOutputAll() {
         final List<Path> result = new ArrayList<>();
-        for (Optional<Path> path : new Optional[]{getOutputJson(), getOutputYaml(), getOutputHtml(), getOutputCsv(), getOutputLock()}) {
+        for (Optional<Path> path : new Optional[]{getOutputJson(), getOutputYaml(), getOutputHtml(), getOutputCsv(), getOutputBinary()}) {
             path.ifPresent(result::add);
         }
         return result;
@@ -168,6 +267,102 @@ public class WiserJunitConfig {
         this.errorPreviewLines = errorPreviewLines;
     }
 
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(final int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public long getLockTimeoutMs() {
+        return lockTimeoutMs;
+    }
+
+    public void setLockTimeoutMs(final long lockTimeoutMs) {
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    public int getWriterQueueSize() {
+        return writerQueueSize;
+    }
+
+    public void setWriterQueueSize(final int writerQueueSize) {
+        this.writerQueueSize = writerQueueSize;
+    }
+
+    public ReportWriter.BackPressure getWriterBackPressure() {
+        return writerBackPressure;
+    }
+
+    public void setWriterBackPressure(final ReportWriter.BackPressure writerBackPressure) {
+        this.writerBackPressure = writerBackPressure;
+    }
+
+    public ReportGeneratorHtml.HtmlMode getHtmlMode() {
+        return htmlMode;
+    }
+
+    public void setHtmlMode(final ReportGeneratorHtml.HtmlMode htmlMode) {
+        this.htmlMode = htmlMode;
+    }
+
+    public int getHistoryRuns() {
+        return historyRuns;
+    }
+
+    public void setHistoryRuns(final int historyRuns) {
+        this.historyRuns = historyRuns;
+    }
+
+    public int getHistoryMaxAgeDays() {
+        return historyMaxAgeDays;
+    }
+
+    public void setHistoryMaxAgeDays(final int historyMaxAgeDays) {
+        this.historyMaxAgeDays = historyMaxAgeDays;
+    }
+
+    public int getRegressionRuns() {
+        return regressionRuns;
+    }
+
+    public void setRegressionRuns(final int regressionRuns) {
+        this.regressionRuns = regressionRuns;
+    }
+
+    public double getRegressionRatio() {
+        return regressionRatio;
+    }
+
+    public void setRegressionRatio(final double regressionRatio) {
+        this.regressionRatio = regressionRatio;
+    }
+
+    public long getRegressionMinMs() {
+        return regressionMinMs;
+    }
+
+    public void setRegressionMinMs(final long regressionMinMs) {
+        this.regressionMinMs = regressionMinMs;
+    }
+
+    public boolean isRegressionFail() {
+        return regressionFail;
+    }
+
+    public void setRegressionFail(final boolean regressionFail) {
+        this.regressionFail = regressionFail;
+    }
+
+    public boolean isMeasureResources() {
+        return measureResources;
+    }
+
+    public void setMeasureResources(final boolean measureResources) {
+        this.measureResources = measureResources;
+    }
+
     public Set<String> getClassesIgnore() {
         return classesIgnore;
     }
@@ -212,21 +407,31 @@ public class WiserJunitConfig {
         return MAPPER_YAML;
     }
 
-    @SuppressWarnings("BusyWait")
-    public synchronized void tryUnlock(final Consumer<Path> supplier) {
-        final Path outputLock = getOutputLockRaw();
+    /**
+     * Runs the consumer with the {@code report.json} path while holding the exclusive (write) report lock
+     *
+     * @param supplier consumer of the {@code report.json} path
+     */
+    public void tryUnlock(final Consumer<Path> supplier) {
+        tryUnlock(false, supplier);
+    }
+
+    /**
+     * Runs the consumer with the {@code report.json} path while holding the shared (read) report lock
+     *
+     * @param supplier consumer of the {@code report.json} path
+     */
+    public void tryUnlockShared(final Consumer<Path> supplier) {
+        tryUnlock(true, supplier);
+    }
+
+    public ReportLock getLock() {
+        return ReportLock.of(getOutputLockRaw());
+    }
+
+    private void tryUnlock(final boolean shared, final Consumer<Path> supplier) {
         try {
-            final long start = System.currentTimeMillis();
-            while (Files.exists(outputLock)) {
-                Thread.sleep(2);
-                if (start + 2000 > System.currentTimeMillis()) {
-                    Files.delete(outputLock);
-                    break;
-                }
-            }
-            Files.createFile(outputLock);
-            supplier.accept(getOutputJsonRaw());
-            Files.deleteIfExists(outputLock);
+            getLock().run(shared, lockTimeoutMs, () -> supplier.accept(getOutputJsonRaw()));
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -243,11 +448,52 @@ public class WiserJunitConfig {
         return path.equals("false") ? null : Paths.get(path);
     }
 
-    private void deletePrevious() {
+    /**
+     * Deletes the outputs of previous runs if {@link #isGenerateNew()} is set.
+     * Journals of other running JVMs (e.g. sibling forks) are kept - only the own journals and the ones of finished JVMs are deleted.
+     */
+    public void deletePrevious() {
         if (generateNew) {
             for (Path path : getOutputAllExistent()) {
                 deleteFile(path);
             }
+            for (Path path : getOutputJournals()) {
+                deleteJournal(path, JOURNAL_PREFIX);
+            }
+            for (Path path : getOutputContainerJournals()) {
+                deleteJournal(path, CONTAINER_JOURNAL_PREFIX);
+            }
+            getOutputRenderTimes().ifPresent(WiserJunitConfig::deleteFile);
+            deleteFiles(getOutputHtmlDataRaw());
+            deleteFile(getOutputHtmlSearchRaw());
+        }
+    }
+
+    /**
+     * Deletes the files of a folder (not recursive)
+     *
+     * @param dir folder to clean up
+     */
+    public static void deleteFiles(final Path dir) {
+        if (Files.isDirectory(dir)) {
+            try (Stream<Path> files = Files.list(dir)) {
+                files.filter(Files::isRegularFile).forEach(WiserJunitConfig::deleteFile);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static void deleteJournal(final Path journal, final String prefix) {
+        final String name = journal.getFileName().toString();
+        final long pid;
+        try {
+            pid = Long.parseLong(name.substring(prefix.length(), name.length() - JOURNAL_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            deleteFile(journal);
+            return;
+        }
+        if (pid == ProcessHandle.current().pid() || !ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)) {
+            deleteFile(journal);
         }
     }
 
@@ -11,13 +11,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_YAML;
 import static java.lang.System.getProperty;
-import static java.lang.System.lineSeparator;
 import static java.util.stream.Collectors.toSet;
 
 public class FileUtils {
@@ -49,17 +45,21 @@ public class FileUtils {
         final String name = clazz.getSimpleName();
         final String dir = clazz.getClassLoader().getResource(clazz.getPackage().getName().replace(".", "/")).getPath();
         final Optional<Path> result = getPathCombinations(name, dir).stream().filter(Files::exists).filter(Files::isRegularFile).findFirst();
-        return result.isPresent() ? result : findFileByName(workDir, clazz.getSimpleName());
+        return result.isPresent() ? result : sourceIndex(workDir).find(name, clazz.getPackage().getName());
     }
 
     public static Optional<Path> findFileByName(final Path workDir, final String name) {
-        try (Stream<Path> walk = Files.walk(workDir, 32)) {
-            return walk.filter(Files::isDirectory)
-                    .flatMap(path -> getPathCombinations(name, path.toString()).stream())
-                    .filter(Files::exists).filter(Files::isRegularFile).findFirst();
-        } catch (Exception ignored) {
-            return Optional.empty();
-        }
+        return sourceIndex(workDir).find(name, null);
+    }
+
+    /**
+     * Returns the source file index of the work dir and starts building it in the background if not done yet
+     *
+     * @param workDir project directory
+     * @return source file index
+     */
+    public static SourceIndex sourceIndex(final Path workDir) {
+        return SourceIndex.of(workDir, CONFIG.getTestFileExtensions());
     }
 
     public static String removeExtension(final String fileName) {
@@ -68,13 +68,7 @@ public class FileUtils {
     }
 
     public static Optional<String> readLine(final Path file, final int threshold, final int lineCount) {
-        final AtomicReference<String> result = new AtomicReference<>(null);
-        try (Stream<String> lines = Files.lines(file)) {
-            int start = Math.max(threshold - (lineCount / 2), 1) - 1;
-            result.set(lines.skip(start).limit(lineCount).collect(Collectors.joining(lineSeparator())));
-        } catch (IOException ignored) {
-        }
-        return Optional.ofNullable(result.get());
+        return LineIndex.of(file).flatMap(index -> index.readLines(threshold, lineCount));
     }
 
     private static Set<Path> getPathCombinations(final String name, String dir) {
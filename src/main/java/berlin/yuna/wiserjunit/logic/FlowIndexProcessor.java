@@ -0,0 +1,114 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.logic.FlowTokenizer.MethodFlow;
+import berlin.yuna.wiserjunit.model.FlowIndex;
+import berlin.yuna.wiserjunit.model.annotation.WiserJunitReport;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+
+/**
+ * Optional annotation processor which extracts the BDD flows and method source lines of classes annotated with {@link WiserJunitReport}
+ * at compile time. The result is written as classpath resource {@link FlowIndex#resourceName(String)} which is preferred by the
+ * {@link WiserReportExtension} over reading the source files at test runtime.
+ * Needs to be enabled explicitly e.g. via the {@code annotationProcessors} of the maven-compiler-plugin.
+ */
+@SupportedAnnotationTypes("berlin.yuna.wiserjunit.model.annotation.WiserJunitReport")
+public class FlowIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> written = new HashSet<>();
+    private Trees trees;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        try {
+            trees = Trees.instance(processingEnv);
+        } catch (IllegalArgumentException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "[WiserUnit] Flow index is only supported by javac");
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (trees != null) {
+            annotations.forEach(annotation -> roundEnv.getElementsAnnotatedWith(annotation).forEach(element -> process(element, roundEnv)));
+        }
+        return false;
+    }
+
+    private void process(final Element element, final RoundEnvironment roundEnv) {
+        if (element.getKind() == ElementKind.ANNOTATION_TYPE) {
+            //Meta annotation e.g. @WiserJunitReport @interface MyReport {}
+            if (written.add(((TypeElement) element).getQualifiedName().toString())) {
+                roundEnv.getElementsAnnotatedWith((TypeElement) element).forEach(annotated -> process(annotated, roundEnv));
+            }
+        } else if (element instanceof TypeElement) {
+            writeIndex(outermost((TypeElement) element));
+        }
+    }
+
+    private void writeIndex(final TypeElement type) {
+        final String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        final TreePath path = trees.getPath(type);
+        if (path == null || !written.add(className)) {
+            return;
+        }
+        final CompilationUnitTree unit = path.getCompilationUnit();
+        try {
+            final String source = unit.getSourceFile().getCharContent(true).toString();
+            final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", FlowIndex.resourceName(className), type);
+            try (OutputStream out = resource.openOutputStream()) {
+                MAPPER_JSON.writeValue(out, toFlowIndex(unit.getSourceFile().getName(), source));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "[WiserUnit] Could not write flow index: " + e.getMessage(), type);
+        }
+    }
+
+    private static FlowIndex toFlowIndex(final String sourceFile, final String source) {
+        final FlowIndex result = new FlowIndex();
+        final String[] lines = source.split("\\r?\\n", -1);
+        result.setSource(sourceFile.substring(Math.max(sourceFile.lastIndexOf('/'), sourceFile.lastIndexOf('\\')) + 1));
+        for (MethodFlow method : FlowTokenizer.parse(source, sourceFile.endsWith(".groovy"))) {
+            result.getFlows().computeIfAbsent(method.getName().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).addAll(method.getFlow());
+            for (int line = method.getLineStart(); line <= method.getLineEnd() && line <= lines.length; line++) {
+                result.getLines().put(line, lines[line - 1]);
+            }
+        }
+        return result;
+    }
+
+    private static TypeElement outermost(final TypeElement type) {
+        TypeElement result = type;
+        while (result.getEnclosingElement() instanceof TypeElement) {
+            result = (TypeElement) result.getEnclosingElement();
+        }
+        return result;
+    }
+}
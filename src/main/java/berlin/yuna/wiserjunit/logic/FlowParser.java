@@ -1,72 +1,124 @@
 package berlin.yuna.wiserjunit.logic;
 
+import berlin.yuna.wiserjunit.logic.FlowTokenizer.MethodFlow;
+import berlin.yuna.wiserjunit.model.FlowIndex;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static berlin.yuna.wiserjunit.model.bdd.Bdd.BddType.MATCH;
-import static berlin.yuna.wiserjunit.model.bdd.BddCore.formatBdd;
-import static java.lang.System.lineSeparator;
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
 
 public class FlowParser {
 
-    private static final Pattern PATTERN_METHOD = Pattern.compile("\\s*(public|private|protected|void|static|final|native|synchronized|abstract|transient).*\\s(?<name>\\w+)\\s*\\(\\)");
-    private static final Pattern PATTERN_BDD = Pattern.compile("\\s*(?<name>summary|feature|given|when|then|and|but|where|match|willThrow)\\s*\\(\\s*\"(?<description>(.|\\s)*?)(\"\\s*,|\"\\s*\\))");
-
+    private static final Map<Path, FileFlows> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<FlowIndex>> INDEX_CACHE = new ConcurrentHashMap<>();
 
     private FlowParser() {
     }
 
     public static List<String> parseFlowFromFile(final Method method, final Path classPath) {
-        final Matcher matcher = parseMatcherFromFile(method, classPath);
-        final List<String> result = new ArrayList<>();
-        while (matcher.find()) {
-            try {
-                final String name = matcher.group("name").toUpperCase().replace("WILLTHROW", MATCH.toString());
-                final String description = matcher.group("description");
-                result.add(formatBdd(0x2705, name, description) + lineSeparator());
-            } catch (Exception ignored) {
-            }
+        return parseFlowsFromFile(classPath).getOrDefault(method.getName().toLowerCase(Locale.ROOT), Collections.emptyList());
+    }
+
+    /**
+     * Parses the flows of all methods of a file in one pass.
+     * The result is cached until the last modified time of the file changes.
+     *
+     * @param classPath source file
+     * @return flows by lower case method name
+     */
+    public static Map<String, List<String>> parseFlowsFromFile(final Path classPath) {
+        final long lastModified = lastModified(classPath);
+        final FileFlows cached = CACHE.get(classPath);
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached.flows;
         }
-        return result;
+        final Map<String, List<String>> flows = parseFlows(readSource(classPath), isGroovy(classPath));
+        CACHE.put(classPath, new FileFlows(lastModified, flows));
+        return flows;
     }
 
-    public static Matcher parseMatcherFromFile(final Method method, final Path classPath) {
-        return PATTERN_BDD.matcher(parseMethodFromFile(method, classPath));
+    /**
+     * Parses the flows of all methods of a source
+     *
+     * @param source source code
+     * @param groovy true if the source is a groovy source
+     * @return flows by lower case method name - flows of overloaded methods are joined
+     */
+    public static Map<String, List<String>> parseFlows(final String source, final boolean groovy) {
+        final Map<String, List<String>> flows = new HashMap<>();
+        for (MethodFlow method : FlowTokenizer.parse(source, groovy)) {
+            flows.computeIfAbsent(method.getName().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).addAll(method.getFlow());
+        }
+        flows.replaceAll((name, flow) -> Collections.unmodifiableList(flow));
+        return flows;
     }
 
-    public static String parseMethodFromFile(final Method method, final Path classPath) {
-        final StringBuilder sb = new StringBuilder();
-        final boolean[] activeMatch = {false};
-        try (Stream<String> lines = Files.lines(classPath)) {
-            lines.forEach(line -> {
-                final Optional<String> methodMatch = getMatch(line, PATTERN_METHOD, "name");
-                if (methodMatch.isPresent() && activeMatch[0]) {
-                    activeMatch[0] = false;
-                } else if (methodMatch.isPresent()) {
-                    activeMatch[0] = methodMatch.filter(s -> s.trim().equalsIgnoreCase(method.getName())).isPresent();
-                }
-                if (activeMatch[0]) {
-                    sb.append(line).append(System.lineSeparator());
-                }
-            });
-        } catch (IOException ignored) {
+    /**
+     * Loads the compile time flow index of a class which is generated by the {@link FlowIndexProcessor}
+     *
+     * @param clazz test class
+     * @return flow index of the outermost class or empty if the index is not available
+     */
+    public static Optional<FlowIndex> readFlowIndex(final Class<?> clazz) {
+        Class<?> outermost = clazz;
+        while (outermost.getEnclosingClass() != null) {
+            outermost = outermost.getEnclosingClass();
         }
-        return sb.toString();
+        final Class<?> type = outermost;
+        return INDEX_CACHE.computeIfAbsent(type.getName(), name -> {
+            final URL resource = type.getClassLoader() == null ? null : type.getClassLoader().getResource(FlowIndex.resourceName(name));
+            if (resource == null) {
+                return Optional.empty();
+            }
+            try (InputStream inputStream = resource.openStream()) {
+                return Optional.ofNullable(MAPPER_JSON.readValue(inputStream, FlowIndex.class));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        });
     }
 
-    private static Optional<String> getMatch(final String text, final Pattern pattern, final String group) {
-        final Matcher matcher = pattern.matcher(text);
-        if (matcher.find()) {
-            return Optional.ofNullable(matcher.group(group));
+    public static boolean isGroovy(final Path classPath) {
+        return classPath.getFileName().toString().endsWith(".groovy");
+    }
+
+    private static String readSource(final Path classPath) {
+        try {
+            return new String(Files.readAllBytes(classPath), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static long lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static class FileFlows {
+        private final long lastModified;
+        private final Map<String, List<String>> flows;
+
+        private FileFlows(final long lastModified, final Map<String, List<String>> flows) {
+            this.lastModified = lastModified;
+            this.flows = flows;
         }
-        return Optional.empty();
     }
 }
@@ -0,0 +1,262 @@
+package berlin.yuna.wiserjunit.logic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static berlin.yuna.wiserjunit.model.bdd.Bdd.BddType.MATCH;
+import static berlin.yuna.wiserjunit.model.bdd.BddCore.formatBdd;
+import static java.lang.System.lineSeparator;
+
+/**
+ * Single pass lexer for Java and Groovy sources which extracts the BDD calls per method.
+ * Understands comments, string/char literals, text blocks and brace depth - runs in linear time.
+ */
+public class FlowTokenizer {
+
+    private static final Set<String> BDD_NAMES = new HashSet<>(Arrays.asList("summary", "feature", "given", "when", "then", "and", "but", "where", "match", "willThrow"));
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList("if", "for", "while", "switch", "catch", "synchronized", "try", "return", "throw", "new", "else", "do", "super", "this", "record", "assert", "case", "yield"));
+
+    private final String source;
+    private final boolean groovy;
+    private final List<Token> tokens = new ArrayList<>();
+    private int pos;
+    private int line = 1;
+
+    private FlowTokenizer(final String source, final boolean groovy) {
+        this.source = source;
+        this.groovy = groovy;
+    }
+
+    /**
+     * Extracts the methods and their BDD flows of a source file
+     *
+     * @param source source code
+     * @param groovy true = single quotes are strings, false = single quotes are chars
+     * @return methods in order of appearance
+     */
+    public static List<MethodFlow> parse(final String source, final boolean groovy) {
+        final FlowTokenizer tokenizer = new FlowTokenizer(source, groovy);
+        tokenizer.lex();
+        return tokenizer.methods();
+    }
+
+    public static class MethodFlow {
+        private final String name;
+        private final int lineStart;
+        private int lineEnd;
+        private final List<String> flow = new ArrayList<>();
+
+        public MethodFlow(final String name, final int lineStart) {
+            this.name = name;
+            this.lineStart = lineStart;
+            this.lineEnd = lineStart;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getLineStart() {
+            return lineStart;
+        }
+
+        public int getLineEnd() {
+            return lineEnd;
+        }
+
+        public List<String> getFlow() {
+            return Collections.unmodifiableList(flow);
+        }
+    }
+
+    private enum Type {IDENT, STRING, PUNCT, OTHER}
+
+    private static class Token {
+        private final Type type;
+        private final String text;
+        private final int line;
+        private int match = -1;
+
+        private Token(final Type type, final String text, final int line) {
+            this.type = type;
+            this.text = text;
+            this.line = line;
+        }
+
+        private boolean is(final char punct) {
+            return type == Type.PUNCT && text.charAt(0) == punct;
+        }
+    }
+
+    //LEXER
+    private void lex() {
+        final Deque<Integer> parentheses = new ArrayDeque<>();
+        while (pos < source.length()) {
+            final char c = source.charAt(pos);
+            if (c == '\n') {
+                line++;
+                pos++;
+            } else if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (startsWith("//")) {
+                skipUntil("\n", false);
+            } else if (startsWith("/*")) {
+                skipUntil("*/", true);
+            } else if (startsWith("\"\"\"") || (groovy && startsWith("'''"))) {
+                readTextBlock(source.substring(pos, pos + 3));
+            } else if (c == '"' || c == '\'') {
+                readQuoted(c);
+            } else if (Character.isJavaIdentifierStart(c)) {
+                final int start = pos;
+                while (pos < source.length() && Character.isJavaIdentifierPart(source.charAt(pos))) {
+                    pos++;
+                }
+                tokens.add(new Token(Type.IDENT, source.substring(start, pos), line));
+            } else if (Character.isDigit(c)) {
+                while (pos < source.length() && (Character.isLetterOrDigit(source.charAt(pos)) || source.charAt(pos) == '_' || source.charAt(pos) == '.')) {
+                    pos++;
+                }
+                tokens.add(new Token(Type.OTHER, "0", line));
+            } else {
+                if (c == '(') {
+                    parentheses.push(tokens.size());
+                } else if (c == ')' && !parentheses.isEmpty()) {
+                    final int open = parentheses.pop();
+                    tokens.get(open).match = tokens.size();
+                    tokens.add(new Token(Type.PUNCT, ")", line));
+                    tokens.get(tokens.size() - 1).match = open;
+                    pos++;
+                    continue;
+                }
+                tokens.add(new Token(Type.PUNCT, String.valueOf(c), line));
+                pos++;
+            }
+        }
+    }
+
+    private boolean startsWith(final String prefix) {
+        return source.startsWith(prefix, pos);
+    }
+
+    private void skipUntil(final String end, final boolean consumeEnd) {
+        final int index = source.indexOf(end, pos);
+        final int stop = index < 0 ? source.length() : index + (consumeEnd ? end.length() : 0);
+        countLines(pos, stop);
+        pos = stop;
+    }
+
+    private void readTextBlock(final String quotes) {
+        final int startLine = line;
+        final int start = pos + 3;
+        int index = start;
+        while (index < source.length() && !source.startsWith(quotes, index)) {
+            index += source.charAt(index) == '\\' ? 2 : 1;
+        }
+        final int end = Math.min(index, source.length());
+        countLines(pos, end);
+        tokens.add(new Token(Type.STRING, source.substring(start, end).trim(), startLine));
+        pos = Math.min(end + 3, source.length());
+    }
+
+    private void readQuoted(final char quote) {
+        final int start = pos + 1;
+        int index = start;
+        while (index < source.length() && source.charAt(index) != quote && source.charAt(index) != '\n') {
+            index += source.charAt(index) == '\\' ? 2 : 1;
+        }
+        final int end = Math.min(index, source.length());
+        tokens.add(new Token(quote == '"' || groovy ? Type.STRING : Type.OTHER, source.substring(start, end), line));
+        pos = end < source.length() && source.charAt(end) == quote ? end + 1 : end;
+    }
+
+    private void countLines(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+            }
+        }
+    }
+
+    //PARSER
+    private List<MethodFlow> methods() {
+        final List<MethodFlow> result = new ArrayList<>();
+        MethodFlow method = null;
+        int methodDepth = -1;
+        int depth = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            final Token token = tokens.get(i);
+            if (token.is('{')) {
+                if (method == null) {
+                    final Token name = methodName(i);
+                    if (name != null) {
+                        method = new MethodFlow(name.text, name.line);
+                        methodDepth = depth;
+                    }
+                }
+                depth++;
+            } else if (token.is('}')) {
+                depth--;
+                if (method != null && depth == methodDepth) {
+                    method.lineEnd = token.line;
+                    result.add(method);
+                    method = null;
+                }
+            } else if (method != null && token.type == Type.IDENT && BDD_NAMES.contains(token.text)) {
+                addBddCall(method, i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Detects method declarations like {@code void name(...) throws X {} }
+     *
+     * @param brace index of the opening brace
+     * @return method name token or null if the brace does not start a method body
+     */
+    private Token methodName(final int brace) {
+        int index = brace - 1;
+        while (index >= 0 && !tokens.get(index).is(')')) {
+            final Token token = tokens.get(index);
+            final boolean throwsClause = token.type == Type.IDENT || token.is('.') || token.is(',') || token.is('<') || token.is('>') || token.is('?');
+            if (!throwsClause || (token.type == Type.IDENT && token.text.equals("throws"))) {
+                break;
+            }
+            index--;
+        }
+        if (index < 0) {
+            return null;
+        }
+        if (index != brace - 1 && !(tokens.get(index).type == Type.IDENT && tokens.get(index).text.equals("throws"))) {
+            return null;
+        }
+        final int close = tokens.get(index).is(')') ? index : index - 1;
+        if (close < 0 || !tokens.get(close).is(')') || tokens.get(close).match < 1) {
+            return null;
+        }
+        final Token name = tokens.get(tokens.get(close).match - 1);
+        final boolean validName = (name.type == Type.IDENT && !KEYWORDS.contains(name.text)) || (groovy && name.type == Type.STRING);
+        if (!validName || tokens.get(close).match < 2) {
+            return null;
+        }
+        final Token before = tokens.get(tokens.get(close).match - 2);
+        final boolean declaration = (before.type == Type.IDENT && !KEYWORDS.contains(before.text)) || before.is('>') || before.is(']');
+        return declaration ? name : null;
+    }
+
+    private void addBddCall(final MethodFlow method, final int index) {
+        if (index + 3 < tokens.size()
+                && tokens.get(index + 1).is('(')
+                && tokens.get(index + 2).type == Type.STRING
+                && (tokens.get(index + 3).is(',') || tokens.get(index + 3).is(')'))) {
+            final String name = tokens.get(index).text.toUpperCase().replace("WILLTHROW", MATCH.toString());
+            method.flow.add(formatBdd(0x2705, name, tokens.get(index + 2).text) + lineSeparator());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package berlin.yuna.wiserjunit.logic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static java.lang.System.lineSeparator;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Line start offsets of a file for random access line reads.
+ * The offsets are built once per file (and last modified time) by one buffered scan of the file.
+ */
+public class LineIndex {
+
+    private static final Map<Path, LineIndex> CACHE = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final long lastModified;
+    //Start offset of each line, the last element is the file size
+    private final long[] offsets;
+
+    private LineIndex(final Path file, final long lastModified, final long[] offsets) {
+        this.file = file;
+        this.lastModified = lastModified;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Returns the cached line index of the file or builds it if the file is new or modified
+     *
+     * @param file text file
+     * @return line index or empty if the file is not readable
+     */
+    public static Optional<LineIndex> of(final Path file) {
+        try {
+            final long lastModified = Files.getLastModifiedTime(file).toMillis();
+            final LineIndex cached = CACHE.get(file);
+            if (cached != null && cached.lastModified == lastModified) {
+                return Optional.of(cached);
+            }
+            final LineIndex result = new LineIndex(file, lastModified, buildOffsets(file));
+            CACHE.put(file, result);
+            return Optional.of(result);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public int lineCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Reads the lines around the given line number
+     *
+     * @param threshold line number in the middle of the result
+     * @param lineCount number of lines to read
+     * @return lines separated by line separator or empty if the file is not readable
+     */
+    public Optional<String> readLines(final int threshold, final int lineCount) {
+        final int start = Math.max(threshold - (lineCount / 2), 1) - 1;
+        final int end = Math.min(start + lineCount, lineCount());
+        if (start >= end) {
+            return Optional.of("");
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate((int) (offsets[end] - offsets[start]));
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer, offsets[start] + buffer.position()) > 0) {
+                //read until the buffer is full
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        buffer.flip();
+        return Optional.of(StandardCharsets.UTF_8.decode(buffer).toString().lines().collect(Collectors.joining(lineSeparator())));
+    }
+
+    //Streams the file instead of mapping it - a mapped source file stays locked on Windows until the buffer is garbage collected
+    private static long[] buildOffsets(final Path file) throws IOException {
+        long[] result = new long[64];
+        int count = 1;
+        long position = 0;
+        boolean carriageReturn = false;
+        try (InputStream in = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > -1) {
+                for (int i = 0; i < read; i++, position++) {
+                    final byte b = buffer[i];
+                    //Line ends: \n, \r\n, \r
+                    if (carriageReturn && b != '\n') {
+                        result = add(result, count++, position);
+                    }
+                    carriageReturn = b == '\r';
+                    if (b == '\n') {
+                        result = add(result, count++, position + 1);
+                    }
+                }
+            }
+        }
+        if (carriageReturn || result[count - 1] != position) {
+            result = add(result, count++, position);
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static long[] add(final long[] offsets, final int index, final long offset) {
+        final long[] result = index == offsets.length ? Arrays.copyOf(offsets, index * 2) : offsets;
+        result[index] = offset;
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package berlin.yuna.wiserjunit.logic;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Streaming equivalent of {@link WiserReportExtension#writeFile(java.nio.file.Path, String...)}.
+ * Runs of {@code \r} and {@code \n} are collapsed to one {@link System#lineSeparator()} and the last line is terminated.
+ */
+public class NormalizedLineWriter extends FilterWriter {
+
+    //Line break run seen - separator is written lazily with the next character or on close
+    private boolean pendingLine;
+    //Characters written since the last separator
+    private boolean openLine;
+
+    public NormalizedLineWriter(final Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        write(String.valueOf((char) c), 0, 1);
+    }
+
+    @Override
+    public void write(final char[] buffer, final int offset, final int length) throws IOException {
+        write(new String(buffer, offset, length), 0, length);
+    }
+
+    @Override
+    public void write(final String text, final int offset, final int length) throws IOException {
+        final int end = offset + length;
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c == '\r' || c == '\n') {
+                flushSegment(text, start, i);
+                pendingLine = true;
+                start = i + 1;
+            }
+        }
+        flushSegment(text, start, end);
+    }
+
+    private void flushSegment(final String text, final int start, final int end) throws IOException {
+        if (start < end) {
+            if (pendingLine) {
+                out.write(lineSeparator());
+                pendingLine = false;
+            }
+            out.write(text, start, end - start);
+            openLine = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pendingLine || openLine) {
+            out.write(lineSeparator());
+            pendingLine = false;
+            openLine = false;
+        }
+        super.close();
+    }
+}
@@ -0,0 +1,121 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.model.HistoryEntry;
+import berlin.yuna.wiserjunit.model.HistoryRun;
+import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.exception.WiserExtensionException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the duration of a test case with its baseline (median and p90) of the previous runs in {@link ReportHistory}.
+ * A test case is a regression when its duration is above the p90, {@code ratio} times the median and at least {@code minMs} slower than the median.
+ * The runs are read once on the first check - the current run is excluded, as another fork could have stored it already.
+ * Their segments are loaded once by {@link ReportHistory#find(List, String)}, so a check does no file reads after the first one.
+ */
+public class RegressionDetector {
+
+    private static final int MIN_SAMPLES = 3;
+
+    private final ReportHistory history;
+    private final Supplier<String> currentRun;
+    private final int baselineRuns;
+    private final double ratio;
+    private final long minMs;
+    private final boolean fail;
+    private volatile List<HistoryRun> runs;
+
+    public RegressionDetector(final ReportHistory history, final int baselineRuns, final double ratio, final long minMs) {
+        this(history, () -> null, baselineRuns, ratio, minMs, false);
+    }
+
+    /**
+     * @param history      history with the previous runs
+     * @param currentRun   id of the current run which is excluded from the baseline
+     * @param baselineRuns last runs used as baseline [0 = disabled]
+     * @param ratio        min ratio of the duration to the median
+     * @param minMs        min difference of the duration to the median
+     * @param fail         fails the test case on regressions {@link #verify(TestCase)}
+     */
+    public RegressionDetector(final ReportHistory history, final Supplier<String> currentRun, final int baselineRuns, final double ratio, final long minMs, final boolean fail) {
+        this.history = history;
+        this.currentRun = currentRun;
+        this.baselineRuns = baselineRuns;
+        this.ratio = ratio;
+        this.minMs = minMs;
+        this.fail = fail;
+    }
+
+    public static RegressionDetector of(final WiserJunitConfig config) {
+        final boolean enabled = config.getHistoryRuns() > 0 && config.getRegressionRuns() > 0;
+        return new RegressionDetector(ReportHistory.of(config), () -> String.valueOf(ReportRun.start(config)),
+                enabled ? config.getRegressionRuns() : 0, config.getRegressionRatio(), config.getRegressionMinMs(), config.isRegressionFail());
+    }
+
+    /**
+     * Runs {@link #check(TestCase)} and marks a regression as failed when failing is enabled {@link WiserJunitConfig#isRegressionFail()}
+     *
+     * @param testCase finished test case
+     * @throws WiserExtensionException after the test case was marked as failed
+     */
+    public void verify(final TestCase testCase) {
+        if (check(testCase) && fail) {
+            final String message = "Performance regression [" + testCase.getDurationPretty() + "] median [" + TestCase.toPrettyDuration(testCase.getBaselineMedian())
+                    + "] p90 [" + TestCase.toPrettyDuration(testCase.getBaselineP90()) + "]";
+            testCase.setSuccess(false);
+            testCase.setErrorType("PerformanceRegression");
+            testCase.setErrorMsg(message);
+            throw new WiserExtensionException(message);
+        }
+    }
+
+    /**
+     * Sets {@link TestCase#getBaselineMedian()}, {@link TestCase#getBaselineP90()} and {@link TestCase#isRegression()}
+     *
+     * @param testCase finished test case
+     * @return true if the test case is a regression
+     */
+    public boolean check(final TestCase testCase) {
+        if (baselineRuns < 1 || testCase.isDisabled() || testCase.getDuration() < 0) {
+            return false;
+        }
+        final long[] durations = history.find(runs(), testCase.getId()).stream().filter(HistoryEntry::isSuccess).mapToLong(HistoryEntry::getDuration).sorted().toArray();
+        if (durations.length < MIN_SAMPLES) {
+            return false;
+        }
+        final long median = percentile(durations, 50);
+        final long p90 = percentile(durations, 90);
+        final long duration = testCase.getDuration();
+        testCase.setBaselineMedian(median);
+        testCase.setBaselineP90(p90);
+        testCase.setRegression(testCase.isSuccess() && duration > p90 && duration >= median * ratio && duration - median >= minMs);
+        return testCase.isRegression();
+    }
+
+    /**
+     * @param sorted     ascending values
+     * @param percentile percentile [1-100]
+     * @return nearest rank percentile
+     */
+    public static long percentile(final long[] sorted, final int percentile) {
+        final int rank = (int) Math.ceil(percentile / 100d * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    private List<HistoryRun> runs() {
+        if (runs == null) {
+            synchronized (this) {
+                if (runs == null) {
+                    final String current = currentRun.get();
+                    final List<HistoryRun> all = history.runs().stream().filter(run -> !run.getId().equals(current)).collect(Collectors.toList());
+                    runs = all.isEmpty() ? Collections.emptyList() : all.subList(Math.max(0, all.size() - baselineRuns), all.size());
+                }
+            }
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,211 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.model.ContainerCase;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static berlin.yuna.wiserjunit.logic.FileUtils.readFile;
+import static berlin.yuna.wiserjunit.logic.ReportGeneratorJson.generateJson;
+import static berlin.yuna.wiserjunit.logic.WiserReportExtension.prepareIoException;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Process wide collector of {@link TestCase}s.
+ * Test results are kept in memory for the whole run and each finished test case is appended as one line to the journal of this JVM
+ * {@link WiserJunitConfig#getOutputJournalRaw()}. The journals of all JVMs (e.g. surefire forks) are folded into the {@code report.json}
+ * at the end of the run or every {@link WiserJunitConfig#getCheckpointInterval()} test cases.
+ * {@link ContainerCase}s are journaled the same way in {@link WiserJunitConfig#getOutputContainerJournalRaw()}.
+ */
+public class ReportAccumulator {
+
+    private final WiserJunitConfig config;
+    private final Report report = new Report();
+    private final AtomicLong added = new AtomicLong();
+    private BufferedWriter journal;
+    private BufferedWriter containerJournal;
+
+    public ReportAccumulator(final WiserJunitConfig config) {
+        this.config = config;
+    }
+
+    public void add(final TestCase testCase) {
+        addAll(Collections.singletonList(testCase));
+    }
+
+    /**
+     * Collects the test cases and appends them to the journal with a single flush
+     *
+     * @param testCases finished test cases
+     */
+    public void addAll(final Collection<TestCase> testCases) {
+        testCases.forEach(report::add);
+        appendJournal(testCases);
+        final int interval = config.getCheckpointInterval();
+        final long before = added.getAndAdd(testCases.size());
+        if (interval > 0 && (before + testCases.size()) / interval > before / interval) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Collects the timing of a finished test class and appends it to the container journal
+     *
+     * @param container finished container
+     */
+    public void addContainer(final ContainerCase container) {
+        report.addContainer(container);
+        final Path path = config.getOutputContainerJournalRaw();
+        try {
+            final String line = config.getMapperJson().writeValueAsString(container);
+            synchronized (this) {
+                if (containerJournal == null) {
+                    path.getParent().toFile().mkdirs();
+                    containerJournal = Files.newBufferedWriter(path, StandardCharsets.UTF_8, CREATE, WRITE, APPEND);
+                }
+                containerJournal.write(line);
+                containerJournal.newLine();
+                containerJournal.flush();
+            }
+        } catch (IOException e) {
+            throw prepareIoException(e, path);
+        }
+    }
+
+    public int size() {
+        return report.size();
+    }
+
+    /**
+     * Closes the journals of this JVM - they are opened again on the next append
+     */
+    public synchronized void close() {
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+            if (containerJournal != null) {
+                containerJournal.close();
+            }
+        } catch (IOException e) {
+            throw prepareIoException(e, config.getOutputJournalRaw());
+        } finally {
+            journal = null;
+            containerJournal = null;
+        }
+    }
+
+    /**
+     * Persists the current state into the {@code report.json} without rendering any other output
+     */
+    public void checkpoint() {
+        config.tryUnlock(path -> generateJson(merge(path), path, config.getMapperJson(), config.isCompactOutput()));
+    }
+
+    /**
+     * Folds the given report file and the journals of all JVMs into one report.
+     * Test cases are de-duplicated by {@link TestCase#getId()} - the last written test case wins.
+     * Needs to be called while holding the report lock {@link WiserJunitConfig#tryUnlock}
+     *
+     * @param reportFile persisted json report
+     * @return new report containing all test cases
+     */
+    public Report merge(final Path reportFile) {
+        final Report result = readFile(reportFile, Report.class, config.getMapperJson()).orElseGet(Report::new);
+        final Map<TestCase, TestCase> testCases = new LinkedHashMap<>();
+        result.forEach(testCase -> fold(testCases, testCase));
+        final Path ownJournal = config.getOutputJournalRaw();
+        for (Path journal : config.getOutputJournals()) {
+            if (!journal.equals(ownJournal)) {
+                readJournal(journal, testCases);
+            }
+        }
+        report.forEach(testCase -> fold(testCases, testCase));
+        testCases.values().forEach(result::add);
+        final Path ownContainerJournal = config.getOutputContainerJournalRaw();
+        for (Path journal : config.getOutputContainerJournals()) {
+            if (!journal.equals(ownContainerJournal)) {
+                readLines(journal, line -> readValue(line, ContainerCase.class).ifPresent(container -> foldContainer(result, container)));
+            }
+        }
+        report.getContainers().forEach(container -> foldContainer(result, container));
+        return result;
+    }
+
+    private static void foldContainer(final Report result, final ContainerCase container) {
+        if (result.getContainer(container.getId()).map(previous -> container.getTimeEnd() >= previous.getTimeEnd()).orElse(true)) {
+            result.addContainer(container);
+        }
+    }
+
+    private void readJournal(final Path journal, final Map<TestCase, TestCase> testCases) {
+        readLines(journal, line -> readValue(line, TestCase.class).ifPresent(testCase -> fold(testCases, testCase)));
+    }
+
+    private void readLines(final Path journal, final Consumer<String> action) {
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    action.accept(line);
+                }
+            }
+        } catch (IOException e) {
+            throw prepareIoException(e, journal);
+        }
+    }
+
+    private <T> Optional<T> readValue(final String line, final Class<T> type) {
+        try {
+            return Optional.of(config.getMapperJson().readValue(line, type));
+        } catch (IOException ignored) {
+            //Incomplete line of a JVM which is still writing or got killed
+            return Optional.empty();
+        }
+    }
+
+    private static void fold(final Map<TestCase, TestCase> testCases, final TestCase testCase) {
+        testCases.merge(testCase, testCase, (previous, next) -> next.getTimeEnd() >= previous.getTimeEnd() ? next : previous);
+    }
+
+    private void appendJournal(final Collection<TestCase> testCases) {
+        final Path path = config.getOutputJournalRaw();
+        try {
+            final List<String> lines = new ArrayList<>(testCases.size());
+            for (TestCase testCase : testCases) {
+                lines.add(config.getMapperJson().writeValueAsString(testCase));
+            }
+            synchronized (this) {
+                if (journal == null) {
+                    path.getParent().toFile().mkdirs();
+                    journal = Files.newBufferedWriter(path, StandardCharsets.UTF_8, CREATE, WRITE, APPEND);
+                }
+                for (String line : lines) {
+                    journal.write(line);
+                    journal.newLine();
+                }
+                journal.flush();
+            }
+        } catch (IOException e) {
+            throw prepareIoException(e, path);
+        }
+    }
+}
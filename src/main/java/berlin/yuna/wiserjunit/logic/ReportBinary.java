@@ -0,0 +1,392 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.model.ContainerCase;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.ValuePool;
+import berlin.yuna.wiserjunit.model.exception.WiserExtensionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+import static berlin.yuna.wiserjunit.logic.WiserReportExtension.prepareIoException;
+
+/**
+ * Compact column oriented binary format of a {@link Report}.
+ * <p>
+ * Layout: magic, version, meta data (json), containers (json), row count, string dictionary, tag set dictionary and one length prefixed block per column.
+ * Strings are stored once and referenced by varint index, times are zigzag varints (start times as delta to the previous row)
+ * and success/disabled/regression are bitsets.
+ * Version 2 adds the nano time columns of the test phases, version 3 the allocated bytes and cpu time of the test body
+ * the regression baseline and the containers.
+ * Files of older versions are still readable.
+ */
+public class ReportBinary {
+
+    private static final byte[] MAGIC = {'W', 'S', 'R', 'B'};
+    private static final int VERSION = 3;
+    private static final int COLUMNS = 22;
+    private static final int COLUMNS_V2 = 18;
+    private static final int COLUMNS_V1 = 14;
+
+    private ReportBinary() {
+    }
+
+    public static void generateBinary(final Report report, final Path target, final ObjectMapper mapper) {
+        try (OutputStream out = Files.newOutputStream(target)) {
+            generateBinary(report, out, mapper);
+        } catch (IOException e) {
+            throw prepareIoException(e, target);
+        }
+    }
+
+    public static void generateBinary(final Report report, final OutputStream out, final ObjectMapper mapper) throws IOException {
+        final Map<String, Integer> strings = new HashMap<>();
+        final Map<List<Integer>, Integer> tagSets = new HashMap<>();
+        final Buffer[] columns = new Buffer[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            columns[i] = new Buffer(64);
+        }
+        final int size = report.size();
+        final byte[] success = new byte[(size + 7) / 8];
+        final byte[] disabled = new byte[(size + 7) / 8];
+        final byte[] regression = new byte[(size + 7) / 8];
+        long previousStart = 0;
+        int row = 0;
+        for (TestCase testCase : report.getTestCases().getTestCases()) {
+            columns[0].varint(ref(strings, testCase.getPkg()));
+            columns[1].varint(ref(strings, testCase.getNameClass()));
+            columns[2].varint(ref(strings, testCase.getNameTest()));
+            columns[3].varint(ref(strings, testCase.getNameDisplay()));
+            columns[4].varint(tagSetRef(strings, tagSets, testCase));
+            columns[5].varint(testCase.getBddMsgList().size());
+            for (String message : testCase.getBddMsgList()) {
+                columns[5].varint(ref(strings, message));
+            }
+            columns[6].varint(ref(strings, testCase.getBddText()));
+            columns[7].varint(ref(strings, testCase.getErrorMsg()));
+            columns[8].varint(ref(strings, testCase.getPreviewText()));
+            columns[9].varint(ref(strings, testCase.getErrorType()));
+            columns[10].zigzag(testCase.getErrorLine());
+            columns[11].zigzag(testCase.getTimeStart() - previousStart);
+            columns[12].zigzag(testCase.getTimeEnd() - testCase.getTimeStart());
+            columns[13].zigzag(testCase.getDuration());
+            columns[14].zigzag(testCase.getDurationNs());
+            columns[15].zigzag(testCase.getBeforeEachNs());
+            columns[16].zigzag(testCase.getBodyNs());
+            columns[17].zigzag(testCase.getAfterEachNs());
+            columns[18].zigzag(testCase.getAllocatedBytes());
+            columns[19].zigzag(testCase.getCpuNs());
+            columns[20].zigzag(testCase.getBaselineMedian());
+            columns[21].zigzag(testCase.getBaselineP90());
+            previousStart = testCase.getTimeStart();
+            success[row / 8] |= testCase.isSuccess() ? (byte) (1 << (row % 8)) : 0;
+            disabled[row / 8] |= testCase.isDisabled() ? (byte) (1 << (row % 8)) : 0;
+            regression[row / 8] |= testCase.isRegression() ? (byte) (1 << (row % 8)) : 0;
+            row++;
+        }
+
+        final Buffer header = new Buffer(1024);
+        header.bytes(MAGIC, MAGIC.length);
+        header.varint(VERSION);
+        final byte[] metaData = mapper.writeValueAsBytes(report.getMetaData());
+        header.varint(metaData.length);
+        header.bytes(metaData, metaData.length);
+        final byte[] containers = mapper.writeValueAsBytes(report.getContainers());
+        header.varint(containers.length);
+        header.bytes(containers, containers.length);
+        header.varint(row);
+        final String[] dictionary = new String[strings.size()];
+        strings.forEach((value, index) -> dictionary[index] = value);
+        header.varint(dictionary.length);
+        for (String value : dictionary) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            header.varint(bytes.length);
+            header.bytes(bytes, bytes.length);
+        }
+        final List<Integer>[] tagSetList = toArray(tagSets);
+        header.varint(tagSetList.length);
+        for (List<Integer> tagSet : tagSetList) {
+            header.varint(tagSet.size());
+            tagSet.forEach(header::varint);
+        }
+        out.write(header.data, 0, header.size);
+        for (Buffer column : columns) {
+            writeBlock(out, column.data, column.size);
+        }
+        writeBlock(out, success, (row + 7) / 8);
+        writeBlock(out, disabled, (row + 7) / 8);
+        writeBlock(out, regression, (row + 7) / 8);
+    }
+
+    /**
+     * Reads all test cases of a binary report into the {@link Report} model
+     *
+     * @param source binary report file
+     * @param mapper json mapper for the meta data
+     * @return report
+     */
+    public static Report read(final Path source, final ObjectMapper mapper) {
+        final Reader reader = iterator(source, mapper);
+        final Report result = new Report();
+        result.setMetaData(reader.getMetaData());
+        reader.getContainers().forEach(result::addContainer);
+        reader.forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Decodes the test cases of a binary report one by one
+     *
+     * @param source binary report file
+     * @param mapper json mapper for the meta data
+     * @return iterator of the test cases in report order
+     */
+    public static Reader iterator(final Path source, final ObjectMapper mapper) {
+        try {
+            return new Reader(ByteBuffer.wrap(Files.readAllBytes(source)), mapper);
+        } catch (IOException e) {
+            throw new WiserExtensionException("Could not read [" + source + "]", e);
+        }
+    }
+
+    public static class Reader implements Iterator<TestCase> {
+
+        private final Report.MetaData metaData;
+        private final List<ContainerCase> containers;
+        private final int size;
+        private final String[] dictionary;
+        private final String[] pooled;
+        private final TreeSet<String>[] tagSets;
+        private final ByteBuffer[] columns = new ByteBuffer[COLUMNS];
+        private final ByteBuffer success;
+        private final ByteBuffer disabled;
+        private final ByteBuffer regression;
+        private long previousStart;
+        private int row;
+
+        @SuppressWarnings("unchecked")
+        private Reader(final ByteBuffer buffer, final ObjectMapper mapper) throws IOException {
+            final byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            final long version = Arrays.equals(magic, MAGIC) ? varint(buffer) : -1;
+            if (version < 1 || version > VERSION) {
+                throw new WiserExtensionException("Unsupported binary report format");
+            }
+            final byte[] meta = new byte[(int) varint(buffer)];
+            buffer.get(meta);
+            metaData = mapper.readValue(meta, Report.MetaData.class);
+            if (version < 3) {
+                containers = Collections.emptyList();
+            } else {
+                final byte[] json = new byte[(int) varint(buffer)];
+                buffer.get(json);
+                containers = mapper.readValue(json, mapper.getTypeFactory().constructCollectionType(List.class, ContainerCase.class));
+            }
+            size = (int) varint(buffer);
+            dictionary = new String[(int) varint(buffer)];
+            for (int i = 0; i < dictionary.length; i++) {
+                final int length = (int) varint(buffer);
+                dictionary[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            }
+            pooled = new String[dictionary.length];
+            tagSets = new TreeSet[(int) varint(buffer)];
+            for (int i = 0; i < tagSets.length; i++) {
+                tagSets[i] = new TreeSet<>();
+                for (long tags = varint(buffer); tags > 0; tags--) {
+                    tagSets[i].add(dictionary[(int) varint(buffer)]);
+                }
+            }
+            for (int i = 0; i < (version == 1 ? COLUMNS_V1 : version == 2 ? COLUMNS_V2 : COLUMNS); i++) {
+                columns[i] = block(buffer);
+            }
+            success = block(buffer);
+            disabled = block(buffer);
+            regression = version < 3 ? null : block(buffer);
+        }
+
+        public Report.MetaData getMetaData() {
+            return metaData;
+        }
+
+        /**
+         * @return containers with the class and fixture timings - empty for files before version 3
+         */
+        public List<ContainerCase> getContainers() {
+            return containers;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row < size;
+        }
+
+        @Override
+        public TestCase next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final TestCase testCase = new TestCase();
+            testCase.setPkg(pooledString(0));
+            testCase.setNameClass(pooledString(1));
+            testCase.setNameTest(pooledString(2));
+            testCase.setNameDisplay(string(3));
+            testCase.setTags(tagSets[(int) varint(columns[4])]);
+            final int messages = (int) varint(columns[5]);
+            final List<String> bddMsgList = new ArrayList<>(messages);
+            for (int i = 0; i < messages; i++) {
+                bddMsgList.add(string(5));
+            }
+            testCase.setBddMsgList(bddMsgList);
+            testCase.setBddText(string(6));
+            testCase.setErrorMsg(string(7));
+            testCase.setPreviewText(string(8));
+            testCase.setErrorType(pooledString(9));
+            testCase.setErrorLine(zigzag(columns[10]));
+            previousStart += zigzag(columns[11]);
+            testCase.setTimeStart(previousStart);
+            testCase.setTimeEnd(previousStart + zigzag(columns[12]));
+            testCase.setDuration(zigzag(columns[13]));
+            if (columns[14] != null) {
+                testCase.setDurationNs(zigzag(columns[14]));
+                testCase.setBeforeEachNs(zigzag(columns[15]));
+                testCase.setBodyNs(zigzag(columns[16]));
+                testCase.setAfterEachNs(zigzag(columns[17]));
+            }
+            if (columns[18] != null) {
+                testCase.setAllocatedBytes(zigzag(columns[18]));
+                testCase.setCpuNs(zigzag(columns[19]));
+                testCase.setBaselineMedian(zigzag(columns[20]));
+                testCase.setBaselineP90(zigzag(columns[21]));
+                testCase.setRegression((regression.get(row / 8) & (1 << (row % 8))) != 0);
+            }
+            testCase.setSuccess((success.get(row / 8) & (1 << (row % 8))) != 0);
+            testCase.setDisabled((disabled.get(row / 8) & (1 << (row % 8))) != 0);
+            row++;
+            return testCase;
+        }
+
+        //Resolves the shared instance once per dictionary entry instead of once per row
+        private String pooledString(final int column) {
+            final int index = (int) varint(columns[column]);
+            if (index == 0) {
+                return null;
+            }
+            if (pooled[index - 1] == null) {
+                pooled[index - 1] = ValuePool.of(dictionary[index - 1]);
+            }
+            return pooled[index - 1];
+        }
+
+        private String string(final int column) {
+            final int index = (int) varint(columns[column]);
+            return index == 0 ? null : dictionary[index - 1];
+        }
+    }
+
+    //null = 0, values are shifted by one
+    private static int ref(final Map<String, Integer> strings, final String value) {
+        return value == null ? 0 : strings.computeIfAbsent(value, key -> strings.size()) + 1;
+    }
+
+    private static int tagSetRef(final Map<String, Integer> strings, final Map<List<Integer>, Integer> tagSets, final TestCase testCase) {
+        final List<Integer> tags = new ArrayList<>();
+        if (testCase.getTags() != null) {
+            testCase.getTags().forEach(tag -> tags.add(strings.computeIfAbsent(tag, key -> strings.size())));
+        }
+        return tagSets.computeIfAbsent(tags, key -> tagSets.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Integer>[] toArray(final Map<List<Integer>, Integer> tagSets) {
+        final List<Integer>[] result = new List[tagSets.size()];
+        tagSets.forEach((tags, index) -> result[index] = tags);
+        return result;
+    }
+
+    private static void writeBlock(final OutputStream out, final byte[] data, final int length) throws IOException {
+        final Buffer prefix = new Buffer(5);
+        prefix.varint(length);
+        out.write(prefix.data, 0, prefix.size);
+        out.write(data, 0, length);
+    }
+
+    private static ByteBuffer block(final ByteBuffer buffer) {
+        final int length = (int) varint(buffer);
+        final ByteBuffer result = buffer.slice();
+        result.limit(length);
+        buffer.position(buffer.position() + length);
+        return result;
+    }
+
+    private static long varint(final ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return result;
+    }
+
+    private static long zigzag(final ByteBuffer buffer) {
+        final long value = varint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static class Buffer {
+        private byte[] data;
+        private int size;
+
+        private Buffer(final int capacity) {
+            data = new byte[capacity];
+        }
+
+        private void varint(final long value) {
+            long remaining = value;
+            ensure(10);
+            while ((remaining & ~0x7FL) != 0) {
+                data[size++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            data[size++] = (byte) remaining;
+        }
+
+        private void zigzag(final long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        private void bytes(final byte[] bytes, final int length) {
+            ensure(length);
+            System.arraycopy(bytes, 0, data, size, length);
+            size += length;
+        }
+
+        private void ensure(final int length) {
+            if (size + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+            }
+        }
+    }
+}
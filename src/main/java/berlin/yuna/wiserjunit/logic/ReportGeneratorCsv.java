@@ -2,27 +2,48 @@ package berlin.yuna.wiserjunit.logic;
 
 import berlin.yuna.wiserjunit.model.Report;
 import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.TestCaseNode;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static berlin.yuna.wiserjunit.logic.WiserReportExtension.prepareIoException;
-import static berlin.yuna.wiserjunit.logic.WiserReportExtension.writeFile;
 import static berlin.yuna.wiserjunit.model.TestCase.testCaseGroupSorted;
 
 public class ReportGeneratorCsv {
 
+    //Numeric columns are read by tools - independent of the default locale which could write e.g. 1,50
+    private static final ThreadLocal<DecimalFormat> DECIMAL_FORMAT = ThreadLocal.withInitial(() -> new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.ROOT)));
+
     private ReportGeneratorCsv() {
     }
 
     public static void generateCsv(final Report report, final Path target) {
-        final StringBuilder csv = new StringBuilder();
+        try (Writer csv = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            generateCsv(report, csv);
+        } catch (Exception e) {
+            throw prepareIoException(e, target);
+        }
+    }
+
+    public static void generateCsv(final Report report, final Writer csv) throws IOException {
         final List<TestCase> testCases = report.stream().sorted(testCaseGroupSorted()).collect(Collectors.toList());
+        final Map<String, TestCaseNode> nodes = nodesByName(report);
         csv.append("Execution;Success;Failed;Disabled;Id;Group;Pkg;ClassName;DisplayName;TestName;Flow;ErrorMessage;" +
-                "ErrorPreview;ErrorLine;ErrorType;DurationMs;DurationPretty;StartMs;EndMs;");
+                "ErrorPreview;ErrorLine;ErrorType;DurationMs;DurationPretty;StartMs;EndMs;ClassDurationMs;PackageDurationMs;BaselineMedianMs;BaselineP90Ms;Regression;" +
+                "DurationNs;BeforeEachNs;BodyNs;AfterEachNs;AllocatedBytes;CpuNs;CpuRatio;");
         csv.append(System.lineSeparator());
-        testCases.forEach(testCase -> {
+        for (TestCase testCase : testCases) {
             csv.append(escapeCsv(testCase.isFailed() ? "FAILED" : testCase.isDisabled() ? "DISABLED" : "SUCCESS"));
             csv.append(escapeCsv(testCase.isSuccess()));
             csv.append(escapeCsv(testCase.isFailed()));
@@ -42,15 +63,41 @@ public class ReportGeneratorCsv {
             csv.append(escapeCsv(testCase.getDurationPretty()));
             csv.append(escapeCsv(testCase.getTimeStart()));
             csv.append(escapeCsv(testCase.getTimeEnd()));
+            csv.append(escapeCsv(durationOf(nodes, testCase.getPkg() + "#" + testCase.getNameClass())));
+            csv.append(escapeCsv(durationOf(nodes, testCase.getPkg())));
+            csv.append(escapeCsv(testCase.getBaselineMedian()));
+            csv.append(escapeCsv(testCase.getBaselineP90()));
+            csv.append(escapeCsv(testCase.isRegression()));
+            csv.append(escapeCsv(testCase.getDurationNs()));
+            csv.append(escapeCsv(testCase.getBeforeEachNs()));
+            csv.append(escapeCsv(testCase.getBodyNs()));
+            csv.append(escapeCsv(testCase.getAfterEachNs()));
+            csv.append(escapeCsv(testCase.getAllocatedBytes()));
+            csv.append(escapeCsv(testCase.getCpuNs()));
+            csv.append(escapeCsv(testCase.getCpuRatio() < 0 ? "-1" : DECIMAL_FORMAT.get().format(testCase.getCpuRatio())));
             csv.append(System.lineSeparator());
-        });
-        try {
-            writeFile(target, csv.toString());
-        } catch (Exception e) {
-            throw prepareIoException(e, target);
         }
     }
 
+    /**
+     * Flattens the package &rarr; class roll-ups of {@link Report#calculate()} to "pkg" and "pkg#class" keys
+     */
+    private static Map<String, TestCaseNode> nodesByName(final Report report) {
+        final Map<String, TestCaseNode> result = new HashMap<>();
+        for (TestCaseNode pkg : report.getTestCases().getChildren()) {
+            result.put(pkg.getName(), pkg);
+            for (TestCaseNode cls : pkg.getChildren()) {
+                result.put(pkg.getName() + "#" + cls.getName(), cls);
+            }
+        }
+        return result;
+    }
+
+    private static long durationOf(final Map<String, TestCaseNode> nodes, final String key) {
+        final TestCaseNode node = nodes.get(key);
+        return node == null ? -1 : node.getDurationTotal();
+    }
+
     private static String escapeCsv(final long input) {
         return escapeCsv("" + input);
     }
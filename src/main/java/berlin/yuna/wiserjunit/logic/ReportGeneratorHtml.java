@@ -1,29 +1,163 @@
 package berlin.yuna.wiserjunit.logic;
 
 import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.model.ContainerCase;
+import berlin.yuna.wiserjunit.model.HistoryRun;
 import berlin.yuna.wiserjunit.model.Report;
 import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.TestCaseNode;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static berlin.yuna.wiserjunit.logic.WiserReportExtension.prepareIoException;
-import static berlin.yuna.wiserjunit.logic.WiserReportExtension.writeFile;
 import static berlin.yuna.wiserjunit.model.Report.nowUtc;
-import static berlin.yuna.wiserjunit.model.TestCase.DECIMAL_FORMATTER;
+import static berlin.yuna.wiserjunit.model.TestCase.formatDecimal;
 import static berlin.yuna.wiserjunit.model.TestCase.testCaseGroupSorted;
+import static berlin.yuna.wiserjunit.model.TestCase.toPrettyBytes;
+import static berlin.yuna.wiserjunit.model.TestCase.toPrettyDuration;
+import static berlin.yuna.wiserjunit.model.TestCase.toPrettyNanos;
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
 public class ReportGeneratorHtml {
 
+    private static final int CHUNK_SIZE = 5000;
+    private static final int FIXTURE_ROWS = 20;
+    private static final String PHASES_TITLE = "BeforeEach / Test / AfterEach";
+
     private ReportGeneratorHtml() {
     }
 
+    /**
+     * Layout of the html report
+     */
+    public enum HtmlMode {
+        //All test cases in one html table
+        TABLE,
+        //Small html page which lazy loads the test cases per package from {@link WiserJunitConfig#getOutputHtmlDataRaw()}
+        CHUNKED
+    }
+
     //FIXME: too ugly implemented :(
     @SuppressWarnings({"java:S1192", "StringConcatenationInsideStringBufferAppend"})
     public static void generateHtml(final Report report, final Path target, final WiserJunitConfig config) {
-        final StringBuilder html = new StringBuilder();
+        final SearchIndex search = new SearchIndex();
+        try (Writer html = new NormalizedLineWriter(Files.newBufferedWriter(target, StandardCharsets.UTF_8))) {
+            if (config.getHtmlMode() == HtmlMode.CHUNKED) {
+                generateHtmlChunked(report, html, config.getOutputHtmlDataRaw(), config, search);
+            } else {
+                generateHtml(report, html, config, search);
+            }
+        } catch (Exception e) {
+            throw prepareIoException(e, target);
+        }
+        search.write(config.getOutputHtmlSearchRaw(), config.getMapperJson());
+    }
+
+    /**
+     * Streams the html report row by row to the writer
+     *
+     * @param report report to render
+     * @param html   target writer
+     * @param config config
+     * @throws IOException on write errors
+     */
+    public static void generateHtml(final Report report, final Writer html, final WiserJunitConfig config) throws IOException {
+        generateHtml(report, html, config, new SearchIndex());
+    }
+
+    /**
+     * Streams the html report row by row to the writer and fills the search index on the way
+     *
+     * @param report report to render
+     * @param html   target writer
+     * @param config config
+     * @param search search index of the rows
+     * @throws IOException on write errors
+     */
+    @SuppressWarnings({"java:S1192", "StringConcatenationInsideStringBufferAppend"})
+    public static void generateHtml(final Report report, final Writer html, final WiserJunitConfig config, final SearchIndex search) throws IOException {
+        final List<HistoryRun> runs = historyRuns(config);
+        final Function<TestCase, String> trend = trend(config, runs);
+        addHead(html, report, config, runs);
+        html.append("<table id=\"wiser-content\">\n");
+        html.append("<tr>\n");
+        html.append("<th></th>\n");
+        html.append("<th>Tags</th>\n");
+        html.append("<th>Display Name</th>\n");
+        html.append("<th data-sort title=\"Sort\">Duration</th>\n");
+        if (config.isMeasureResources()) {
+            html.append("<th data-sort title=\"Sort - allocated bytes of the test body\">Allocated</th>\n");
+            html.append("<th data-sort title=\"Sort - cpu time of the test body (cpu / wall time)\">CPU</th>\n");
+        }
+        html.append("<th>Flow</th>\n");
+        html.append("<th>Line Preview</th>\n");
+        html.append("</tr>\n");
+
+        final List<TestCase> testCases = report.stream().sorted(testCaseGroupSorted()).collect(Collectors.toList());
+        final boolean resources = config.isMeasureResources();
+        int row = 0;
+        for (TestCase testCase : testCases) {
+            if (testCase.isFailed()) {
+                addTestCase(html, row++, testCase, search, trend, resources);
+            }
+        }
+        for (TestCase testCase : testCases) {
+            if (testCase.isDisabled()) {
+                addTestCase(html, row++, testCase, search, trend, resources);
+            }
+        }
+        for (TestCase testCase : testCases) {
+            if (testCase.isSuccess() && testCase.isNotDisabled()) {
+                addTestCase(html, row++, testCase, search, trend, resources);
+            }
+        }
+        html.append("</table>\n");
+        html.append(JS_SORT);
+        addFooter(html, config);
+    }
+
+    /**
+     * Streams a small html page and writes the test cases as lazy loaded script chunks per package into the data folder.
+     * Scripts are used instead of json files as browsers are blocking {@code fetch} on {@code file://}.
+     * The rows of an opened package are virtualized - only the visible rows are in the DOM.
+     *
+     * @param report  report to render
+     * @param html    target writer of the html page
+     * @param dataDir target folder of the data chunks
+     * @param config  config
+     * @param search  search index of the rows
+     * @throws IOException on write errors
+     */
+    public static void generateHtmlChunked(final Report report, final Writer html, final Path dataDir, final WiserJunitConfig config, final SearchIndex search) throws IOException {
+        final List<HistoryRun> runs = historyRuns(config);
+        final String index = writeChunks(report, dataDir, config.getMapperJson(), search, trend(config, runs));
+        addHead(html, report, config, runs);
+        html.append("<table id=\"wiser-content\">\n<tr>\n<td>\n<div id=\"wiser-packages\"></div>\n</td>\n</tr>\n</table>\n");
+        html.append("<script>\nvar WISER_DATA = \"").append(dataDir.getFileName().toString()).append("/\";\n");
+        html.append("var WISER_CHUNK_SIZE = ").append(String.valueOf(CHUNK_SIZE)).append(";\n");
+        html.append("var WISER_PACKAGES = ").append(index.replace("</", "<\\/")).append(";\n</script>\n");
+        html.append(JS_CHUNKED);
+        addFooter(html, config);
+    }
+
+    @SuppressWarnings({"java:S1192", "StringConcatenationInsideStringBufferAppend"})
+    private static void addHead(final Writer html, final Report report, final WiserJunitConfig config, final List<HistoryRun> runs) throws IOException {
         html.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"UTF-8\">\n<title>WiserReport</title>" + CSS + "\n</head>\n<body>");
 
         html.append("<table style=\"text-align: center;\">\n<tr>\n");
@@ -36,53 +170,266 @@ public class ReportGeneratorHtml {
         html.append("<th class=\"fit\">Date</th>\n");
         html.append("</tr><tr>\n");
         html.append("<td class=\"fit\">").append(config.getName()).append("</td>\n");
-        html.append("<td class=\"fit\">").append(report.getMetaData().getTestCases()).append("</td>\n");
+        html.append("<td class=\"fit\">").append(String.valueOf(report.getMetaData().getTestCases())).append("</td>\n");
         html.append("<td class=\"fit\">").append(report.getMetaData().getDurationPretty()).append("</td>\n");
         html.append("<td>\n<div class=\"bar_wrapper\">\n<div title=\"Failed\" class=\"bar_bg\">\n" +
                 " <span class=\"bar_success\" title=\"Success\" style=\"width: " + report.getMetaData().getPercentageSucceed() + "%;\"></span>\n" +
                 " <span class=\"bar_disabled\" title=\"Disabled\" style=\"width: " + (report.getMetaData().getPercentageSucceed() + report.getMetaData().getPercentageDisabled()) + "%;\"></span>\n" +
                 "</div>\n</div>\n</td>\n");
-        html.append("<td class=\"fit\">").append(report.getMetaData().getTestCasesSucceed()).append("/").append(report.getMetaData().getTestCases()).append("</td>\n");
-        html.append("<td class=\"fit\">").append(DECIMAL_FORMATTER.format(report.getMetaData().getPercentageSucceed() - report.getMetaData().getPercentageDisabled())).append("%</td>\n");
+        html.append("<td class=\"fit\">").append(String.valueOf(report.getMetaData().getTestCasesSucceed())).append("/").append(String.valueOf(report.getMetaData().getTestCases())).append("</td>\n");
+        html.append("<td class=\"fit\">").append(formatDecimal(report.getMetaData().getPercentageSucceed() - report.getMetaData().getPercentageDisabled())).append("%</td>\n");
         html.append("<td class=\"fit\">").append(ISO_LOCAL_DATE_TIME.format(nowUtc()).replace("T", " <br>"));
         html.append("</tr>\n</table style=\"text-align: center;\">\n");
-        html.append("<table>\n");
-        html.append("<tr>\n");
-        html.append("<th></th>\n");
-        html.append("<th>Tags</th>\n");
-        html.append("<th>Display Name</th>\n");
-        html.append("<th>Duration</th>\n");
-        html.append("<th>Flow</th>\n");
-        html.append("<th>Line Preview</th>\n");
-        html.append("</tr>\n");
+        if (runs.size() > 1) {
+            html.append("<table>\n<tr>\n<th>Trend of the last ").append(String.valueOf(runs.size())).append(" runs</th>\n</tr>\n<tr>\n<td>");
+            html.append(ReportHistory.trendSvg(runs)).append("</td>\n</tr>\n</table>\n");
+        }
+        addRegressionTable(html, report);
+        addFixtureTable(html, report);
+        addNodeTable(html, report.getTestCases());
+        html.append("<table>\n<tr>\n<td><input id=\"wiser-search\" type=\"search\" placeholder=\"Search name, class, tag or error\" style=\"width: 100%;\"></td>\n</tr>\n</table>\n");
+        html.append("<div id=\"wiser-results\"></div>\n");
+    }
 
-        final List<TestCase> testCases = report.stream().sorted(testCaseGroupSorted()).collect(Collectors.toList());
-        testCases.stream().filter(TestCase::isFailed).forEach(testCase -> addTestCase(html, testCase));
-        testCases.stream().filter(TestCase::isDisabled).forEach(testCase -> addTestCase(html, testCase));
-        testCases.stream().filter(TestCase::isSuccess).filter(TestCase::isNotDisabled).forEach(testCase -> addTestCase(html, testCase));
-        html.append("</table>\n");
+    private static void addFooter(final Writer html, final WiserJunitConfig config) throws IOException {
         html.append("<table style=\"text-align: center;\">\n<tr>\n");
-        for (Path output : config.getOutputAllExistent()) {
+        for (Path output : config.getOutputAll()) {
             html.append("<td>").append("<a title=\"Report\" href=\"" + output.getFileName().toString() + "\">" + output.getFileName().toString() + "</a>").append("</td>\n");
         }
         html.append("</tr>\n</table>\n");
-        html.append("</body>\n</html>");
-        try {
-            writeFile(target, html.toString());
-        } catch (Exception e) {
-            throw prepareIoException(e, target);
+        html.append("<script src=\"").append(config.getOutputHtmlSearchRaw().getFileName().toString()).append("\" charset=\"UTF-8\"></script>\n");
+        html.append(JS_SEARCH);
+        html.append("</body>\n</html>\n");
+    }
+
+    /**
+     * Writes the test cases per package as script chunks ordered by failed, disabled and succeeded.
+     * The chunks are replaced in place - the caller needs to hold the report lock.
+     *
+     * @return json index of the packages and their chunk files
+     */
+    private static String writeChunks(final Report report, final Path dataDir, final ObjectMapper mapper, final SearchIndex search, final Function<TestCase, String> trend) throws IOException {
+        WiserJunitConfig.deleteFiles(dataDir);
+        Files.createDirectories(dataDir);
+        final Map<String, List<TestCase>> packages = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        report.stream().sorted(testCaseGroupSorted()).forEach(testCase -> packages.computeIfAbsent(String.valueOf(testCase.getPkg()), key -> new ArrayList<>()).add(testCase));
+        final StringWriter index = new StringWriter();
+        int chunkId = 0;
+        try (JsonGenerator json = mapper.getFactory().createGenerator(index)) {
+            json.writeStartArray();
+            for (Map.Entry<String, List<TestCase>> pkg : packages.entrySet()) {
+                final List<TestCase> rows = new ArrayList<>(pkg.getValue().size());
+                pkg.getValue().stream().filter(TestCase::isFailed).forEach(rows::add);
+                pkg.getValue().stream().filter(TestCase::isDisabled).forEach(rows::add);
+                pkg.getValue().stream().filter(testCase -> testCase.isSuccess() && testCase.isNotDisabled()).forEach(rows::add);
+                json.writeStartObject();
+                json.writeStringField("name", pkg.getKey());
+                json.writeNumberField("count", rows.size());
+                json.writeNumberField("failed", rows.stream().filter(TestCase::isFailed).count());
+                json.writeNumberField("disabled", rows.stream().filter(TestCase::isDisabled).count());
+                json.writeArrayFieldStart("chunks");
+                for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+                    final List<TestCase> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+                    for (int i = 0; i < chunk.size(); i++) {
+                        search.add(chunkId * CHUNK_SIZE + i, chunk.get(i));
+                    }
+                    final String id = "chunk-" + chunkId++;
+                    writeChunk(dataDir.resolve(id + ".js"), id, chunk, mapper, trend);
+                    json.writeString(id);
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
         }
+        return index.toString();
     }
 
-    private static void addTestCase(StringBuilder html, TestCase testCase) {
+    private static void writeChunk(final Path target, final String id, final List<TestCase> rows, final ObjectMapper mapper, final Function<TestCase, String> trend) throws IOException {
+        try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8); JsonGenerator json = mapper.getFactory().createGenerator(out)) {
+            out.write("WISER.chunk(\"" + id + "\", ");
+            json.writeStartArray();
+            for (TestCase testCase : rows) {
+                json.writeStartArray();
+                json.writeString(status(testCase));
+                json.writeString(String.join(", ", testCase.getTags()));
+                json.writeString(testCase.getNameDisplay());
+                json.writeString(testCase.getDurationPretty());
+                json.writeString(testCase.getBddText().trim());
+                json.writeString(testCase.getPreviewText().trim());
+                json.writeString(trend.apply(testCase));
+                json.writeString(phases(testCase));
+                json.writeString(resources(testCase));
+                json.writeEndArray();
+            }
+            json.writeEndArray();
+            json.flush();
+            out.write(");\n");
+        }
+    }
+
+    private static List<HistoryRun> historyRuns(final WiserJunitConfig config) {
+        return config.getHistoryRuns() > 0 ? ReportHistory.of(config).runs() : Collections.emptyList();
+    }
+
+    /**
+     * @return duration sparkline of a test case over the given runs
+     */
+    private static Function<TestCase, String> trend(final WiserJunitConfig config, final List<HistoryRun> runs) {
+        if (runs.size() < 2) {
+            return testCase -> "";
+        }
+        final ReportHistory history = ReportHistory.of(config);
+        return testCase -> ReportHistory.sparkline(history.find(runs, testCase.getId()));
+    }
+
+    /**
+     * @return durations of @BeforeEach, test body and @AfterEach - empty if not measured
+     */
+    private static String phases(final TestCase testCase) {
+        if (testCase.getBeforeEachNs() < 0) {
+            return "";
+        }
+        return toPrettyNanos(testCase.getBeforeEachNs())
+                + " / " + (testCase.getBodyNs() < 0 ? "-" : toPrettyNanos(testCase.getBodyNs()))
+                + " / " + (testCase.getAfterEachNs() < 0 ? "-" : toPrettyNanos(testCase.getAfterEachNs()));
+    }
+
+    /**
+     * @return allocated bytes and cpu time of the test body - empty if not measured
+     */
+    private static String resources(final TestCase testCase) {
+        if (testCase.getAllocatedBytes() < 0 && testCase.getCpuNs() < 0) {
+            return "";
+        }
+        return "Allocated: " + (testCase.getAllocatedBytes() < 0 ? "-" : toPrettyBytes(testCase.getAllocatedBytes()))
+                + " / CPU: " + (testCase.getCpuNs() < 0 ? "-" : toPrettyNanos(testCase.getCpuNs()) + " (" + formatDecimal(Math.max(0, testCase.getCpuRatio())) + ")");
+    }
+
+    private static String status(final TestCase testCase) {
+        return testCase.isDisabled() ? "disabled" : testCase.getErrorType().length() > 2 ? "failed" : "success";
+    }
+
+    private static void addRegressionTable(final Writer html, final Report report) throws IOException {
+        final List<TestCase> regressions = report.stream().filter(TestCase::isRegression).sorted(testCaseGroupSorted()).collect(Collectors.toList());
+        if (regressions.isEmpty()) {
+            return;
+        }
+        html.append("<table>\n<tr>\n");
+        html.append("<th colspan=\"6\">Performance regressions</th>\n");
+        html.append("</tr><tr>\n");
+        html.append("<th>Class</th>\n");
+        html.append("<th>Test</th>\n");
+        html.append("<th class=\"fit\">Duration</th>\n");
+        html.append("<th class=\"fit\">Median</th>\n");
+        html.append("<th class=\"fit\">P90</th>\n");
+        html.append("<th class=\"fit\">Ratio</th>\n");
+        html.append("</tr>\n");
+        for (TestCase testCase : regressions) {
+            html.append("<tr>\n");
+            html.append("<td>").append(escapeHTML(testCase.getNameClass())).append("</td>\n");
+            html.append("<td>").append(escapeHTML(testCase.getNameDisplay())).append("</td>\n");
+            html.append("<td class=\"fit\" style=\"color: #db6f6f;\">").append(testCase.getDurationPretty()).append("</td>\n");
+            html.append("<td class=\"fit\">").append(toPrettyDuration(testCase.getBaselineMedian())).append("</td>\n");
+            html.append("<td class=\"fit\">").append(toPrettyDuration(testCase.getBaselineP90())).append("</td>\n");
+            html.append("<td class=\"fit\">").append(formatDecimal(testCase.getDuration() / (double) Math.max(1, testCase.getBaselineMedian()))).append("x</td>\n");
+            html.append("</tr>\n");
+        }
+        html.append("</table>\n");
+    }
+
+    /**
+     * Lists the classes with the most time spent in {@code @BeforeAll} and {@code @AfterAll}
+     */
+    private static void addFixtureTable(final Writer html, final Report report) throws IOException {
+        final List<ContainerCase> containers = report.getContainers().stream()
+                .sorted(Comparator.comparingLong(ContainerCase::getFixtureNs).reversed())
+                .limit(FIXTURE_ROWS)
+                .collect(Collectors.toList());
+        if (containers.isEmpty()) {
+            return;
+        }
+        html.append("<table>\n<tr>\n");
+        html.append("<th colspan=\"6\">Slowest class fixtures</th>\n");
+        html.append("</tr><tr>\n");
+        html.append("<th>Package</th>\n");
+        html.append("<th>Class</th>\n");
+        html.append("<th class=\"fit\">BeforeAll</th>\n");
+        html.append("<th class=\"fit\">AfterAll</th>\n");
+        html.append("<th class=\"fit\">Total</th>\n");
+        html.append("<th class=\"fit\">Fixture share</th>\n");
+        html.append("</tr>\n");
+        for (ContainerCase container : containers) {
+            html.append("<tr>\n");
+            html.append("<td>").append(escapeHTML(container.getPkg())).append("</td>\n");
+            html.append("<td>").append(escapeHTML(container.getNameDisplay())).append("</td>\n");
+            html.append("<td class=\"fit\">").append(toPrettyNanos(Math.max(0, container.getBeforeAllNs()))).append("</td>\n");
+            html.append("<td class=\"fit\">").append(toPrettyNanos(Math.max(0, container.getAfterAllNs()))).append("</td>\n");
+            html.append("<td class=\"fit\">").append(container.getDurationPretty()).append("</td>\n");
+            html.append("<td class=\"fit\">").append(formatDecimal(container.getFixtureNs() * 100d / Math.max(1, container.getDurationNs()))).append("%</td>\n");
+            html.append("</tr>\n");
+        }
+        html.append("</table>\n");
+    }
+
+    private static void addNodeTable(final Writer html, final TestCaseNode root) throws IOException {
+        html.append("<table>\n<tr>\n");
+        html.append("<th>Package</th>\n");
+        html.append("<th>Class</th>\n");
+        html.append("<th class=\"fit\">Test cases</th>\n");
+        html.append("<th class=\"fit\">Failed</th>\n");
+        html.append("<th class=\"fit\">Disabled</th>\n");
+        html.append("<th class=\"fit\">Duration</th>\n");
+        html.append("<th class=\"fit\">Max</th>\n");
+        html.append("<th class=\"fit\" title=\"Class including @BeforeAll and @AfterAll\">Wall time</th>\n");
+        html.append("<th class=\"fit\">Failure rate</th>\n");
+        html.append("</tr>\n");
+        for (TestCaseNode pkg : root.getChildren()) {
+            addNode(html, pkg, pkg.getName(), "");
+            for (TestCaseNode cls : pkg.getChildren()) {
+                addNode(html, cls, "", cls.getName());
+            }
+        }
+        html.append("</table>\n");
+    }
+
+    private static void addNode(final Writer html, final TestCaseNode node, final String pkg, final String cls) throws IOException {
         html.append("<tr>\n");
-        html.append("<td class=\"").append(
-                testCase.isDisabled() ? "disabled" :
-                        testCase.getErrorType().length() > 2 ? "failed" : "success"
-        ).append("\">&#183;</td>\n");
+        html.append("<td>").append(escapeHTML(pkg)).append("</td>\n");
+        html.append("<td>").append(escapeHTML(cls)).append("</td>\n");
+        html.append("<td class=\"fit\">").append(String.valueOf(node.getCount())).append("</td>\n");
+        html.append("<td class=\"fit\">").append(String.valueOf(node.getFailed())).append("</td>\n");
+        html.append("<td class=\"fit\">").append(String.valueOf(node.getDisabled())).append("</td>\n");
+        html.append("<td class=\"fit\">").append(toPrettyDuration(node.getDurationTotal())).append("</td>\n");
+        html.append("<td class=\"fit\">").append(toPrettyDuration(node.getDurationMax())).append("</td>\n");
+        html.append("<td class=\"fit\">").append(node.getContainer() == null ? "" : node.getContainer().getDurationPretty()).append("</td>\n");
+        html.append("<td class=\"fit\">").append(formatDecimal(node.getFailureRate())).append("%</td>\n");
+        html.append("</tr>\n");
+    }
+
+    private static void addTestCase(final Writer html, final int row, final TestCase testCase, final SearchIndex search, final Function<TestCase, String> trend, final boolean resources) throws IOException {
+        search.add(row, testCase);
+        html.append("<tr id=\"r").append(String.valueOf(row)).append("\">\n");
+        html.append("<td class=\"").append(status(testCase)).append("\">&#183;</td>\n");
         html.append("<td>").append(String.join(", ", testCase.getTags())).append("</td>\n");
         html.append("<td>").append(testCase.getNameDisplay()).append("</td>\n");
-        html.append("<td style=\"text-align: right; padding-right: 2%;\">").append(testCase.getDurationPretty()).append("</td>\n");
+        final long durationNs = testCase.getDurationNs() > -1 ? testCase.getDurationNs() : testCase.getDuration() * 1000000;
+        html.append("<td data-sort=\"").append(String.valueOf(durationNs)).append("\" style=\"text-align: right; padding-right: 2%;\">").append(testCase.getDurationPretty());
+        final String sparkline = trend.apply(testCase);
+        if (!sparkline.isEmpty()) {
+            html.append("<br><span title=\"Duration trend\">").append(sparkline).append("</span>");
+        }
+        final String phases = phases(testCase);
+        if (!phases.isEmpty()) {
+            html.append("<br><small title=\"").append(PHASES_TITLE).append("\">").append(phases).append("</small>");
+        }
+        html.append("</td>\n");
+        if (resources) {
+            html.append("<td class=\"fit\" data-sort=\"").append(String.valueOf(testCase.getAllocatedBytes())).append("\" style=\"text-align: right;\">")
+                    .append(testCase.getAllocatedBytes() < 0 ? "" : toPrettyBytes(testCase.getAllocatedBytes())).append("</td>\n");
+            html.append("<td class=\"fit\" data-sort=\"").append(String.valueOf(testCase.getCpuNs())).append("\" style=\"text-align: right;\">")
+                    .append(testCase.getCpuNs() < 0 ? "" : toPrettyNanos(testCase.getCpuNs()) + "<br><small>" + formatDecimal(Math.max(0, testCase.getCpuRatio())) + "</small>").append("</td>\n");
+        }
         html.append("<td>").append(toHtml(testCase.getBddText())).append("</td>\n");
         html.append("<td>").append(toHtml(testCase.getPreviewText().trim())
         ).append("</td>\n");
@@ -184,5 +531,161 @@ public class ReportGeneratorHtml {
             "table td {\n" +
             "padding: 5px;\n" +
             "}\n" +
+            "details summary {\n" +
+            "cursor: pointer;\n" +
+            "padding: 5px;\n" +
+            "}\n" +
+            ".viewport {\n" +
+            "overflow-y: auto;\n" +
+            "position: relative;\n" +
+            "}\n" +
+            ".row {\n" +
+            "position: absolute;\n" +
+            "left: 0;\n" +
+            "right: 0;\n" +
+            "height: 32px;\n" +
+            "display: flex;\n" +
+            "}\n" +
+            ".row span {\n" +
+            "flex: 3;\n" +
+            "padding: 0 5px;\n" +
+            "line-height: 32px;\n" +
+            "overflow: hidden;\n" +
+            "white-space: nowrap;\n" +
+            "text-overflow: ellipsis;\n" +
+            "}\n" +
+            ".row span.failed,\n" +
+            ".row span.disabled,\n" +
+            ".row span.success {\n" +
+            "flex: 0 0 32px;\n" +
+            "}\n" +
+            ".row span.fit {\n" +
+            "flex: 1;\n" +
+            "text-align: right;\n" +
+            "}\n" +
             "</style>";
+
+    //Queries the prefix of each search term in the sorted tokens of WISER_SEARCH and shows the intersection of the matching rows
+    @SuppressWarnings("java:S1192")
+    static final String JS_SEARCH = "<script>\n" +
+            "var WISER_FIND = {seq: 0, keys: typeof WISER_SEARCH === 'undefined' ? [] : Object.keys(WISER_SEARCH).sort()};\n" +
+            "WISER_FIND.prefix = function (term) {\n" +
+            "  var keys = WISER_FIND.keys, low = 0, high = keys.length, result = {};\n" +
+            "  while (low < high) { var mid = (low + high) >> 1; if (keys[mid] < term) { low = mid + 1; } else { high = mid; } }\n" +
+            "  for (var i = low; i < keys.length && keys[i].lastIndexOf(term, 0) === 0; i++) {\n" +
+            "    WISER_SEARCH[keys[i]].forEach(function (row) { result[row] = true; });\n" +
+            "  }\n" +
+            "  return result;\n" +
+            "};\n" +
+            "WISER_FIND.query = function (query) {\n" +
+            "  var result = null;\n" +
+            "  query.toLowerCase().split(/[^\\p{L}\\p{N}]+/u).filter(function (term) { return term.length > 1; }).forEach(function (term) {\n" +
+            "    var rows = WISER_FIND.prefix(term);\n" +
+            "    if (result === null) { result = rows; } else { Object.keys(result).forEach(function (row) { if (!rows[row]) { delete result[row]; } }); }\n" +
+            "  });\n" +
+            "  return result === null ? null : Object.keys(result).map(Number).sort(function (a, b) { return a - b; });\n" +
+            "};\n" +
+            "WISER_FIND.show = function (query) {\n" +
+            "  var seq = ++WISER_FIND.seq, rows = WISER_FIND.query(query), results = document.getElementById('wiser-results');\n" +
+            "  results.innerHTML = '';\n" +
+            "  document.getElementById('wiser-content').style.display = rows === null ? '' : 'none';\n" +
+            "  if (rows === null) { return; }\n" +
+            "  if (typeof WISER_CHUNK_SIZE === 'undefined') {\n" +
+            "    var table = document.createElement('table');\n" +
+            "    rows.slice(0, 1000).forEach(function (row) { table.appendChild(document.getElementById('r' + row).cloneNode(true)); });\n" +
+            "    return results.appendChild(table);\n" +
+            "  }\n" +
+            "  var ids = [], found = [];\n" +
+            "  rows.forEach(function (row) { var id = 'chunk-' + Math.floor(row / WISER_CHUNK_SIZE); if (ids.indexOf(id) < 0) { ids.push(id); } });\n" +
+            "  (function next(i) {\n" +
+            "    if (seq !== WISER_FIND.seq) { return; }\n" +
+            "    if (i === ids.length) { return WISER.view(results, found); }\n" +
+            "    WISER.load(ids[i], function (chunk) {\n" +
+            "      rows.forEach(function (row) { if ('chunk-' + Math.floor(row / WISER_CHUNK_SIZE) === ids[i]) { found.push(chunk[row % WISER_CHUNK_SIZE]); } });\n" +
+            "      next(i + 1);\n" +
+            "    });\n" +
+            "  })(0);\n" +
+            "};\n" +
+            "document.getElementById('wiser-search').oninput = function () { WISER_FIND.show(this.value); };\n" +
+            "</script>\n";
+
+    //Sorts the rows of the table by the numeric data-sort values of the clicked column
+    @SuppressWarnings("java:S1192")
+    static final String JS_SORT = "<script>\n" +
+            "Array.prototype.forEach.call(document.querySelectorAll('#wiser-content th[data-sort]'), function (th) {\n" +
+            "  th.style.cursor = 'pointer';\n" +
+            "  th.onclick = function () {\n" +
+            "    var table = document.getElementById('wiser-content'), column = th.cellIndex, desc = th.getAttribute('data-desc') !== 'true';\n" +
+            "    var rows = Array.prototype.slice.call(table.rows, 1);\n" +
+            "    rows.sort(function (a, b) { var x = Number(a.cells[column].getAttribute('data-sort')), y = Number(b.cells[column].getAttribute('data-sort')); return desc ? y - x : x - y; });\n" +
+            "    th.setAttribute('data-desc', desc);\n" +
+            "    rows.forEach(function (row) { row.parentNode.appendChild(row); });\n" +
+            "  };\n" +
+            "});\n" +
+            "</script>\n";
+
+    //Lazy loads the data chunks via script tags and renders only the visible rows
+    @SuppressWarnings("java:S1192")
+    static final String JS_CHUNKED = "<script>\n" +
+            "var WISER = {chunks: {}, waiting: {}, rowHeight: 32};\n" +
+            "WISER.chunk = function (id, rows) {\n" +
+            "  WISER.chunks[id] = rows;\n" +
+            "  (WISER.waiting[id] || []).forEach(function (callback) { callback(rows); });\n" +
+            "  delete WISER.waiting[id];\n" +
+            "};\n" +
+            "WISER.load = function (id, callback) {\n" +
+            "  if (WISER.chunks[id]) { return callback(WISER.chunks[id]); }\n" +
+            "  if (WISER.waiting[id]) { return WISER.waiting[id].push(callback); }\n" +
+            "  WISER.waiting[id] = [callback];\n" +
+            "  var script = document.createElement('script');\n" +
+            "  script.charset = 'UTF-8';\n" +
+            "  script.src = WISER_DATA + id + '.js';\n" +
+            "  document.head.appendChild(script);\n" +
+            "};\n" +
+            "WISER.loadAll = function (ids, callback) {\n" +
+            "  var result = [];\n" +
+            "  (function next(i) {\n" +
+            "    if (i === ids.length) { return callback(result); }\n" +
+            "    WISER.load(ids[i], function (rows) { result = result.concat(rows); next(i + 1); });\n" +
+            "  })(0);\n" +
+            "};\n" +
+            "WISER.esc = function (text) {\n" +
+            "  return String(text).replace(/[&<>\"']/g, function (c) { return '&#' + c.charCodeAt(0) + ';'; });\n" +
+            "};\n" +
+            "WISER.row = function (row, top) {\n" +
+            "  return '<div class=\"row\" style=\"top: ' + top + 'px;\" title=\"' + WISER.esc(row[4] + '\\n' + row[5]) + '\">'\n" +
+            "    + '<span class=\"' + row[0] + '\">&#183;</span>'\n" +
+            "    + '<span>' + WISER.esc(row[1]) + '</span>'\n" +
+            "    + '<span>' + WISER.esc(row[2]) + '</span>'\n" +
+            "    + '<span class=\"fit\" title=\"' + WISER.esc((row[6] || '') + '\\n" + PHASES_TITLE + ": ' + (row[7] || '-') + (row[8] ? '\\n' + row[8] : '')) + '\">'  + WISER.esc(row[3]) + ' ' + WISER.esc(row[6] || '') + '</span>'\n" +
+            "    + '<span>' + WISER.esc(row[4]) + '</span>'\n" +
+            "    + '<span>' + WISER.esc(row[5]) + '</span></div>';\n" +
+            "};\n" +
+            "WISER.view = function (target, rows) {\n" +
+            "  var height = WISER.rowHeight, viewport = document.createElement('div'), content = document.createElement('div');\n" +
+            "  viewport.className = 'viewport';\n" +
+            "  viewport.style.height = Math.min(rows.length * height, 640) + 'px';\n" +
+            "  content.style.height = rows.length * height + 'px';\n" +
+            "  viewport.appendChild(content);\n" +
+            "  target.innerHTML = '';\n" +
+            "  target.appendChild(viewport);\n" +
+            "  var draw = function () {\n" +
+            "    var first = Math.floor(viewport.scrollTop / height), last = Math.min(rows.length, first + Math.ceil(viewport.clientHeight / height) + 10), html = '';\n" +
+            "    for (var i = first; i < last; i++) { html += WISER.row(rows[i], i * height); }\n" +
+            "    content.innerHTML = html;\n" +
+            "  };\n" +
+            "  viewport.onscroll = draw;\n" +
+            "  draw();\n" +
+            "};\n" +
+            "WISER_PACKAGES.forEach(function (pkg) {\n" +
+            "  var details = document.createElement('details'), body = document.createElement('div');\n" +
+            "  details.innerHTML = '<summary><span class=\"' + (pkg.failed ? 'failed' : pkg.disabled ? 'disabled' : 'success') + '\">&#183;</span> '\n" +
+            "    + WISER.esc(pkg.name) + ' (' + pkg.count + ' / failed ' + pkg.failed + ' / disabled ' + pkg.disabled + ')</summary>';\n" +
+            "  details.appendChild(body);\n" +
+            "  details.ontoggle = function () {\n" +
+            "    if (details.open && !body.firstChild) { WISER.loadAll(pkg.chunks, function (rows) { WISER.view(body, rows); }); }\n" +
+            "  };\n" +
+            "  document.getElementById('wiser-packages').appendChild(details);\n" +
+            "});\n" +
+            "</script>\n";
 }
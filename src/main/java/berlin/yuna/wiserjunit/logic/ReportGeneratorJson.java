@@ -0,0 +1,78 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.model.ContainerCase;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.TestCaseNode;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static berlin.yuna.wiserjunit.logic.WiserReportExtension.prepareIoException;
+
+/**
+ * Streams a {@link Report} with a {@link JsonGenerator} - test cases are serialized one by one directly to the file.
+ * Works for every format of the given {@link ObjectMapper} e.g. JSON and YAML.
+ */
+public class ReportGeneratorJson {
+
+    private ReportGeneratorJson() {
+    }
+
+    public static void generateJson(final Report report, final Path target, final ObjectMapper mapper, final boolean compact) {
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(target))) {
+            generateJson(report, outputStream, mapper, compact);
+        } catch (Exception e) {
+            throw prepareIoException(e, target);
+        }
+    }
+
+    public static void generateJson(final Report report, final OutputStream outputStream, final ObjectMapper mapper, final boolean compact) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            if (!compact) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartObject();
+            generator.writeFieldName("metaData");
+            generator.writeObject(report.getMetaData());
+            generator.writeFieldName("testCases");
+            writeNode(generator, report.getTestCases());
+            generator.writeArrayFieldStart("containers");
+            for (ContainerCase container : report.getContainers()) {
+                generator.writeObject(container);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeNode(final JsonGenerator generator, final TestCaseNode node) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", node.getName());
+        generator.writeNumberField("count", node.getCount());
+        generator.writeNumberField("failed", node.getFailed());
+        generator.writeNumberField("disabled", node.getDisabled());
+        generator.writeNumberField("durationTotal", node.getDurationTotal());
+        generator.writeNumberField("durationMax", node.getDurationMax());
+        generator.writeFieldName("container");
+        generator.writeObject(node.getContainer());
+        generator.writeNumberField("failureRate", node.getFailureRate());
+        generator.writeArrayFieldStart("testCases");
+        for (TestCase testCase : node.getTestCases()) {
+            generator.writeObject(testCase);
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("children");
+        for (TestCaseNode child : node.getChildren()) {
+            writeNode(generator, child);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+}
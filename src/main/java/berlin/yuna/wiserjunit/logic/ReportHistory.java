@@ -0,0 +1,434 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.model.HistoryEntry;
+import berlin.yuna.wiserjunit.model.HistoryRun;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.exception.WiserExtensionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static berlin.yuna.wiserjunit.logic.ReportRenderer.writeAtomic;
+import static berlin.yuna.wiserjunit.logic.WiserReportExtension.prepareIoException;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.DAYS;
+
+/**
+ * File based run history in {@link WiserJunitConfig#getOutputHistoryDir()} which survives {@link WiserJunitConfig#isGenerateNew()}.
+ * Each run appends one line to {@code runs.jsonl} and writes one segment file with the {@code (id, duration, success)}
+ * of its test cases sorted by id behind an offset table - a test is found by binary search in O(log n).
+ * Lookups of many tests {@link #find(List, String)} load each segment once into a map which is cached until the run is replaced or expired.
+ * Segments are read with positional reads instead of memory maps, as mapped files can not be deleted on Windows until they are garbage collected.
+ * Needs to be called while holding the report lock {@link WiserJunitConfig#tryUnlock} when appending.
+ */
+public class ReportHistory {
+
+    private static final Map<Path, ReportHistory> HISTORIES = new ConcurrentHashMap<>();
+    private static final byte[] MAGIC = {'W', 'S', 'R', 'H'};
+    private static final int HEADER = MAGIC.length + Integer.BYTES;
+    private static final String RUNS = "runs.jsonl";
+    private static final char[] SPARKS = {'▁', '▂', '▃', '▄', '▅', '▆', '▇', '█'};
+
+    private final Path dir;
+    private final ObjectMapper mapper;
+    private final Map<String, Segment> segments = new ConcurrentHashMap<>();
+
+    private ReportHistory(final Path dir, final ObjectMapper mapper) {
+        this.dir = dir;
+        this.mapper = mapper;
+    }
+
+    public static ReportHistory of(final WiserJunitConfig config) {
+        return of(config.getOutputHistoryDir(), config.getMapperJson());
+    }
+
+    /**
+     * @param historyDir folder of the history
+     * @param mapper     json mapper for {@code runs.jsonl}
+     * @return history of the folder
+     */
+    public static ReportHistory of(final Path historyDir, final ObjectMapper mapper) {
+        return HISTORIES.computeIfAbsent(historyDir.toAbsolutePath().normalize(), dir -> new ReportHistory(dir, mapper));
+    }
+
+    /**
+     * Stores the test cases started in the run - the run is replaced when it was stored before (e.g. rendered by another fork)
+     *
+     * @param report     calculated report - can contain test cases of previous runs when {@link WiserJunitConfig#isGenerateNew()} is false
+     * @param runStart   start of the run {@link ReportRun#start(WiserJunitConfig)} [ms]
+     * @param maxRuns    max runs to keep
+     * @param maxAgeDays max age of runs to keep [0 = unlimited]
+     * @return stored run
+     */
+    public synchronized HistoryRun append(final Report report, final long runStart, final int maxRuns, final int maxAgeDays) {
+        final String id = String.valueOf(runStart);
+        final Report current = new Report();
+        report.stream().filter(testCase -> testCase.getTimeStart() >= runStart).forEach(current::add);
+        current.getMetaData().setTimeStart(runStart);
+        current.getMetaData().setDateStart(LocalDateTime.ofInstant(Instant.ofEpochMilli(runStart), ZoneId.of("UTC")));
+        final HistoryRun run = new HistoryRun(id, "run-" + id + ".bin", current.calculate().getMetaData());
+        try {
+            Files.createDirectories(dir);
+            close(segments.remove(run.getSegment()));
+            writeAtomic(dir.resolve(run.getSegment()), target -> writeSegment(current, target));
+            final List<HistoryRun> runs = runs();
+            final boolean replaced = runs.removeIf(previous -> previous.getId().equals(id));
+            runs.add(run);
+            final List<HistoryRun> expired = expired(runs, maxRuns, maxAgeDays);
+            runs.removeAll(expired);
+            expired.forEach(previous -> close(segments.remove(previous.getSegment())));
+            if (replaced || !expired.isEmpty()) {
+                writeAtomic(dir.resolve(RUNS), target -> writeRuns(runs, target));
+            } else {
+                try (Writer writer = Files.newBufferedWriter(dir.resolve(RUNS), StandardCharsets.UTF_8, CREATE, WRITE, APPEND)) {
+                    writer.write(mapper.writeValueAsString(run));
+                    writer.write('\n');
+                }
+            }
+            deleteUnused(runs);
+        } catch (IOException e) {
+            throw prepareIoException(e, dir);
+        }
+        return run;
+    }
+
+    /**
+     * @return stored runs in order of appearance
+     */
+    public List<HistoryRun> runs() {
+        final Path file = dir.resolve(RUNS);
+        final List<HistoryRun> result = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return result;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    result.add(mapper.readValue(line, HistoryRun.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new WiserExtensionException("Could not read history [" + file + "]", e);
+        }
+        return result;
+    }
+
+    /**
+     * Finds a test case of a run by binary search
+     *
+     * @param run run to search in
+     * @param id  {@link TestCase#getId()}
+     * @return result of the test case in the given run
+     */
+    public Optional<HistoryEntry> find(final HistoryRun run, final String id) {
+        final Segment segment = segment(run.getSegment());
+        if (segment == null) {
+            return Optional.empty();
+        }
+        int low = 0;
+        int high = segment.offsets.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final ByteBuffer record = segment.read(mid);
+            final byte[] bytes = new byte[Short.toUnsignedInt(record.getShort())];
+            record.get(bytes);
+            final int compare = new String(bytes, StandardCharsets.UTF_8).compareTo(id);
+            if (compare == 0) {
+                return Optional.of(new HistoryEntry(run.getId(), record.getLong(), record.get() != 0));
+            } else if (compare < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds a test case in the cached entries of each run - the first lookup reads the whole segment of a run at once
+     *
+     * @param runs runs to search in
+     * @param id   {@link TestCase#getId()}
+     * @return results of the test case in the order of the given runs
+     */
+    public List<HistoryEntry> find(final List<HistoryRun> runs, final String id) {
+        final List<HistoryEntry> result = new ArrayList<>(runs.size());
+        for (HistoryRun run : runs) {
+            final HistoryEntry entry = entries(run).get(id);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param run run to read
+     * @return results of all test cases of the run by {@link TestCase#getId()}
+     */
+    public Map<String, HistoryEntry> entries(final HistoryRun run) {
+        final Segment segment = segment(run.getSegment());
+        return segment == null ? Collections.emptyMap() : segment.entries(run.getId());
+    }
+
+    /**
+     * @param entries results of a test case
+     * @return durations as unicode bars e.g. ▁▃█ - empty if there is nothing to compare
+     */
+    public static String sparkline(final List<HistoryEntry> entries) {
+        if (entries.size() < 2) {
+            return "";
+        }
+        final long min = entries.stream().mapToLong(HistoryEntry::getDuration).min().orElse(0);
+        final long max = entries.stream().mapToLong(HistoryEntry::getDuration).max().orElse(0);
+        final StringBuilder result = new StringBuilder(entries.size());
+        for (HistoryEntry entry : entries) {
+            result.append(SPARKS[max == min ? 0 : (int) ((entry.getDuration() - min) * (SPARKS.length - 1) / (max - min))]);
+        }
+        return result.toString();
+    }
+
+    /**
+     * @param runs runs to draw
+     * @return svg line chart of the suite durations, failed runs are marked red
+     */
+    public static String trendSvg(final List<HistoryRun> runs) {
+        final int width = 600;
+        final int height = 80;
+        final long max = Math.max(1, runs.stream().mapToLong(run -> run.getMetaData().getDuration()).max().orElse(1));
+        final StringBuilder points = new StringBuilder();
+        final StringBuilder dots = new StringBuilder();
+        for (int i = 0; i < runs.size(); i++) {
+            final Report.MetaData metaData = runs.get(i).getMetaData();
+            final long x = runs.size() < 2 ? width / 2 : 5 + (long) i * (width - 10) / (runs.size() - 1);
+            final long y = height - 5 - metaData.getDuration() * (height - 10) / max;
+            points.append(x).append(',').append(y).append(' ');
+            dots.append("<circle cx=\"").append(x).append("\" cy=\"").append(y).append("\" r=\"3\" fill=\"")
+                    .append(metaData.getTestCasesFailed() > 0 ? "#db6f6f" : "#7cb342").append("\"><title>")
+                    .append(metaData.getDateStart()).append(" ").append(metaData.getDurationPretty())
+                    .append(" failed ").append(metaData.getTestCasesFailed()).append("</title></circle>");
+        }
+        return "<svg viewBox=\"0 0 " + width + " " + height + "\" preserveAspectRatio=\"none\" style=\"width: 100%; height: " + height + "px;\">"
+                + "<polyline fill=\"none\" stroke=\"#9e9e9e\" stroke-width=\"2\" points=\"" + points.toString().trim() + "\"/>" + dots + "</svg>";
+    }
+
+    private List<HistoryRun> expired(final List<HistoryRun> runs, final int maxRuns, final int maxAgeDays) {
+        final long minTime = maxAgeDays > 0 ? System.currentTimeMillis() - DAYS.toMillis(maxAgeDays) : Long.MIN_VALUE;
+        final List<HistoryRun> result = runs.stream().filter(run -> run.getMetaData().getTimeEnd() < minTime).collect(Collectors.toList());
+        final List<HistoryRun> remaining = new ArrayList<>(runs);
+        remaining.removeAll(result);
+        if (remaining.size() > maxRuns) {
+            result.addAll(remaining.subList(0, remaining.size() - maxRuns));
+        }
+        return result;
+    }
+
+    /**
+     * Deletes the segments of removed runs - also the ones which could not be deleted before e.g. as another process still read them
+     */
+    private void deleteUnused(final List<HistoryRun> runs) throws IOException {
+        final Set<String> used = runs.stream().map(HistoryRun::getSegment).collect(Collectors.toSet());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "run-*.bin")) {
+            for (Path file : files) {
+                if (!used.contains(file.getFileName().toString())) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        new WiserExtensionException("Could not delete history segment [" + file + "] - retrying with the next run", e).printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    private Segment segment(final String name) {
+        return segments.computeIfAbsent(name, key -> {
+            final Path file = dir.resolve(key);
+            if (!Files.exists(file)) {
+                return null;
+            }
+            try {
+                final FileChannel channel = FileChannel.open(file, READ);
+                final Segment result = Segment.of(file, channel);
+                if (result == null) {
+                    channel.close();
+                }
+                return result;
+            } catch (IOException e) {
+                throw new WiserExtensionException("Could not read history [" + file + "]", e);
+            }
+        });
+    }
+
+    private static void close(final Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void writeRuns(final List<HistoryRun> runs, final Path target) {
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            for (HistoryRun run : runs) {
+                writer.write(mapper.writeValueAsString(run));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw prepareIoException(e, target);
+        }
+    }
+
+    private static void writeSegment(final Report report, final Path target) {
+        final List<TestCase> testCases = report.stream().sorted(Comparator.comparing(TestCase::getId)).collect(Collectors.toList());
+        final byte[][] ids = new byte[testCases.size()][];
+        final int[] offsets = new int[testCases.size()];
+        int offset = 0;
+        for (int i = 0; i < ids.length; i++) {
+            final byte[] id = testCases.get(i).getId().getBytes(StandardCharsets.UTF_8);
+            ids[i] = id.length > 0xFFFF ? Arrays.copyOf(id, 0xFFFF) : id;
+            offsets[i] = offset;
+            offset += Short.BYTES + ids[i].length + Long.BYTES + 1;
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            out.write(MAGIC);
+            out.writeInt(ids.length);
+            for (int position : offsets) {
+                out.writeInt(position);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                out.writeShort(ids[i].length);
+                out.write(ids[i]);
+                out.writeLong(testCases.get(i).getDuration());
+                out.writeByte(testCases.get(i).isSuccess() ? 1 : 0);
+            }
+        } catch (IOException e) {
+            throw prepareIoException(e, target);
+        }
+    }
+
+    /**
+     * Offset table of a segment file - the records are read on demand or all at once into {@link #entries(String)}
+     */
+    private static class Segment implements Closeable {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final int[] offsets;
+        private final long records;
+        private final long size;
+        private volatile Map<String, HistoryEntry> entries;
+
+        private Segment(final Path file, final FileChannel channel, final int[] offsets) throws IOException {
+            this.file = file;
+            this.channel = channel;
+            this.offsets = offsets;
+            this.records = HEADER + (long) offsets.length * Integer.BYTES;
+            this.size = channel.size();
+        }
+
+        /**
+         * @return segment or null if the file is no segment
+         */
+        private static Segment of(final Path file, final FileChannel channel) throws IOException {
+            if (channel.size() < HEADER) {
+                return null;
+            }
+            final ByteBuffer header = read(file, channel, 0, HEADER);
+            final byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                return null;
+            }
+            final int[] offsets = new int[header.getInt()];
+            read(file, channel, HEADER, offsets.length * Integer.BYTES).asIntBuffer().get(offsets);
+            return new Segment(file, channel, offsets);
+        }
+
+        private Map<String, HistoryEntry> entries(final String runId) {
+            if (entries == null) {
+                synchronized (this) {
+                    if (entries == null) {
+                        entries = readEntries(runId);
+                    }
+                }
+            }
+            return entries;
+        }
+
+        private Map<String, HistoryEntry> readEntries(final String runId) {
+            final Map<String, HistoryEntry> result = new HashMap<>((int) (offsets.length / 0.75f) + 1);
+            try {
+                final ByteBuffer buffer = read(file, channel, records, (int) (size - records));
+                for (int i = 0; i < offsets.length; i++) {
+                    final byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                    buffer.get(bytes);
+                    result.put(new String(bytes, StandardCharsets.UTF_8), new HistoryEntry(runId, buffer.getLong(), buffer.get() != 0));
+                }
+            } catch (IOException e) {
+                throw new WiserExtensionException("Could not read history [" + file + "]", e);
+            }
+            return result;
+        }
+
+        private ByteBuffer read(final int index) {
+            final long position = records + offsets[index];
+            final long end = index + 1 < offsets.length ? records + offsets[index + 1] : size;
+            try {
+                return read(file, channel, position, (int) (end - position));
+            } catch (IOException e) {
+                throw new WiserExtensionException("Could not read history [" + file + "]", e);
+            }
+        }
+
+        private static ByteBuffer read(final Path file, final FileChannel channel, final long position, final int length) throws IOException {
+            final ByteBuffer result = ByteBuffer.allocate(length);
+            while (result.hasRemaining()) {
+                if (channel.read(result, position + result.position()) < 0) {
+                    throw new EOFException("Truncated history segment [" + file + "]");
+                }
+            }
+            return result.flip();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.model.exception.WiserExtensionException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Cross process read/write lock on a lock file.
+ * Threads of the same JVM are ordered by a fair {@link ReentrantReadWriteLock}, other processes by {@link FileChannel#tryLock}.
+ * Shared holders of one JVM are sharing a single {@link FileLock} as the JVM does not allow overlapping file locks.
+ */
+public class ReportLock {
+
+    private static final Map<Path, ReportLock> LOCKS = new ConcurrentHashMap<>();
+    private static final long BACK_OFF_MIN_NS = MILLISECONDS.toNanos(1);
+    private static final long BACK_OFF_MAX_NS = MILLISECONDS.toNanos(64);
+
+    private final Path lockFile;
+    private final ReentrantReadWriteLock localLock = new ReentrantReadWriteLock(true);
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private FileChannel sharedChannel;
+    private FileLock sharedLock;
+    private int sharedHolders;
+
+    private ReportLock(final Path lockFile) {
+        this.lockFile = lockFile;
+    }
+
+    public static ReportLock of(final Path lockFile) {
+        return LOCKS.computeIfAbsent(lockFile.toAbsolutePath().normalize(), ReportLock::new);
+    }
+
+    /**
+     * Runs the action while holding the lock
+     *
+     * @param shared    true = read lock which can be held by multiple processes, false = exclusive write lock
+     * @param timeoutMs max time to wait for the lock
+     * @param action    action to run
+     * @throws WiserExtensionException on timeout or when the lock file is not accessible
+     */
+    public void run(final boolean shared, final long timeoutMs, final Runnable action) {
+        final long start = System.nanoTime();
+        final long deadline = start + MILLISECONDS.toNanos(timeoutMs);
+        final Lock lock = shared ? localLock.readLock() : localLock.writeLock();
+        acquireLocal(lock, timeoutMs);
+        try {
+            if (shared) {
+                runShared(deadline, start, action);
+            } else {
+                runExclusive(deadline, start, action);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getWaitMs() {
+        return NANOSECONDS.toMillis(waitNanos.sum());
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    private void runExclusive(final long deadline, final long start, final Runnable action) {
+        try (FileChannel channel = open()) {
+            final FileLock fileLock = acquireFile(channel, false, deadline);
+            acquired(start);
+            try {
+                action.run();
+            } finally {
+                fileLock.release();
+            }
+        } catch (IOException e) {
+            throw new WiserExtensionException("Could not lock [" + lockFile + "]", e);
+        }
+    }
+
+    private void runShared(final long deadline, final long start, final Runnable action) {
+        synchronized (this) {
+            if (sharedHolders == 0) {
+                sharedChannel = open();
+                try {
+                    sharedLock = acquireFile(sharedChannel, true, deadline);
+                } catch (RuntimeException e) {
+                    close(sharedChannel);
+                    throw e;
+                }
+            }
+            sharedHolders++;
+        }
+        acquired(start);
+        try {
+            action.run();
+        } finally {
+            synchronized (this) {
+                if (--sharedHolders == 0) {
+                    close(sharedChannel);
+                    sharedLock = null;
+                    sharedChannel = null;
+                }
+            }
+        }
+    }
+
+    private void acquireLocal(final Lock lock, final long timeoutMs) {
+        try {
+            if (!lock.tryLock(timeoutMs, MILLISECONDS)) {
+                throw timeout();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WiserExtensionException("Interrupted while waiting for [" + lockFile + "]", e);
+        }
+    }
+
+    private FileLock acquireFile(final FileChannel channel, final boolean shared, final long deadline) {
+        long backOff = BACK_OFF_MIN_NS;
+        try {
+            while (true) {
+                final FileLock result = channel.tryLock(0L, Long.MAX_VALUE, shared);
+                if (result != null) {
+                    return result;
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw timeout();
+                }
+                //Random jitter prevents waiting processes from retrying in lockstep
+                LockSupport.parkNanos(Math.min(remaining, backOff + ThreadLocalRandom.current().nextLong(backOff)));
+                backOff = Math.min(backOff * 2, BACK_OFF_MAX_NS);
+            }
+        } catch (IOException e) {
+            throw new WiserExtensionException("Could not lock [" + lockFile + "]", e);
+        }
+    }
+
+    private FileChannel open() {
+        try {
+            lockFile.getParent().toFile().mkdirs();
+            return FileChannel.open(lockFile, CREATE, READ, WRITE);
+        } catch (IOException e) {
+            throw new WiserExtensionException("Could not open lock file [" + lockFile + "]", e);
+        }
+    }
+
+    private void acquired(final long start) {
+        waitNanos.add(System.nanoTime() - start);
+        acquisitions.increment();
+    }
+
+    private WiserExtensionException timeout() {
+        timeouts.increment();
+        return new WiserExtensionException("Timeout while waiting for lock [" + lockFile + "]");
+    }
+
+    private static void close(final FileChannel channel) {
+        try {
+            //Closing the channel releases the lock
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.exception.WiserExtensionException;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static berlin.yuna.wiserjunit.logic.ReportBinary.generateBinary;
+import static berlin.yuna.wiserjunit.logic.ReportGeneratorCsv.generateCsv;
+import static berlin.yuna.wiserjunit.logic.ReportGeneratorHtml.generateHtml;
+import static berlin.yuna.wiserjunit.logic.ReportGeneratorJson.generateJson;
+import static berlin.yuna.wiserjunit.logic.WiserReportExtension.prepareIoException;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Renders all configured outputs of a calculated {@link Report} concurrently.
+ * Each output is written to a temporary file and moved into place, so readers never see a partially written output.
+ */
+public class ReportRenderer {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private ReportRenderer() {
+    }
+
+    /**
+     * Renders JSON, YAML, CSV, HTML and binary concurrently.
+     * Needs to be called while holding the report lock {@link WiserJunitConfig#tryUnlock} as other JVMs render into the same outputs.
+     *
+     * @param report immutable snapshot of the calculated report
+     * @param config config
+     * @return render time in milliseconds by format
+     */
+    public static Map<String, Long> render(final Report report, final WiserJunitConfig config) {
+        final Map<String, Long> result = Collections.synchronizedMap(new LinkedHashMap<>());
+        final List<Runnable> tasks = new ArrayList<>();
+        addTask(tasks, result, "json", config.getOutputJson(), target -> generateJson(report, target, config.getMapperJson(), config.isCompactOutput()));
+        addTask(tasks, result, "yaml", config.getOutputYaml(), target -> generateJson(report, target, config.getMapperYaml(), config.isCompactOutput()));
+        addTask(tasks, result, "csv", config.getOutputCsv(), target -> generateCsv(report, target));
+        addTask(tasks, result, "html", config.getOutputHtml(), target -> generateHtml(report, target, config));
+        addTask(tasks, result, "binary", config.getOutputBinary(), target -> generateBinary(report, target, config.getMapperJson()));
+        if (tasks.isEmpty()) {
+            return result;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(tasks.size(), runnable -> {
+            final Thread thread = new Thread(runnable, "wiser-render-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture.allOf(tasks.stream().map(task -> CompletableFuture.runAsync(task, executor)).toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new WiserExtensionException("Error while rendering reports", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        writeRenderTimes(config, result);
+        return result;
+    }
+
+    private static void addTask(final List<Runnable> tasks, final Map<String, Long> times, final String format, final Optional<Path> target, final Consumer<Path> generator) {
+        target.ifPresent(path -> tasks.add(() -> {
+            final long start = System.nanoTime();
+            writeAtomic(path, generator);
+            times.put(format, NANOSECONDS.toMillis(System.nanoTime() - start));
+        }));
+    }
+
+    private static void writeRenderTimes(final WiserJunitConfig config, final Map<String, Long> times) {
+        config.getOutputRenderTimes().ifPresent(target -> writeAtomic(target, path -> {
+            try {
+                config.getMapperJson().writer().withDefaultPrettyPrinter().writeValue(path.toFile(), times);
+            } catch (IOException e) {
+                throw prepareIoException(e, path);
+            }
+        }));
+    }
+
+    /**
+     * Writes a file via temporary file and atomic move
+     *
+     * @param target    target file
+     * @param generator writes the content to the given temporary file
+     */
+    public static void writeAtomic(final Path target, final Consumer<Path> generator) {
+        final Path temp = Paths.get(target + ".tmp-" + ProcessHandle.current().pid() + "-" + Thread.currentThread().getId());
+        try {
+            generator.accept(temp);
+            try {
+                Files.move(temp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw prepareIoException(e, target);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
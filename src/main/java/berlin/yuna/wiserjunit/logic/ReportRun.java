@@ -0,0 +1,91 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.model.RunMarker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static berlin.yuna.wiserjunit.logic.FileUtils.readFile;
+import static berlin.yuna.wiserjunit.logic.ReportRenderer.writeAtomic;
+import static berlin.yuna.wiserjunit.logic.WiserReportExtension.prepareIoException;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * Start of the current build which is the id of its {@link ReportHistory} run.
+ * The report outputs are no indicator as they survive builds with {@link WiserJunitConfig#isGenerateNew()} {@code false}.
+ * A JVM joins the run of {@code current-run.json} as long as one of its processes is alive - else it starts a new run.
+ * Surefire forks register the maven process too, so that sequential forks of the same build share the run.
+ */
+public class ReportRun {
+
+    public static final String MARKER = "current-run.json";
+    private static final Map<Path, Long> STARTS = new ConcurrentHashMap<>();
+
+    private ReportRun() {
+    }
+
+    /**
+     * Resolves the run once per JVM while holding the report lock - must not be called while holding it already
+     *
+     * @param config config with the history folder
+     * @return start of the current run [ms]
+     */
+    public static long start(final WiserJunitConfig config) {
+        return STARTS.computeIfAbsent(config.getOutputHistoryDir().toAbsolutePath().normalize(), dir -> {
+            final AtomicLong result = new AtomicLong(currentTimeMillis());
+            config.tryUnlock(output -> result.set(join(dir, config.getMapperJson(), owners(), result.get())));
+            return result.get();
+        });
+    }
+
+    /**
+     * Needs to be called while holding the report lock {@link WiserJunitConfig#tryUnlock}
+     *
+     * @param historyDir folder of the history
+     * @param mapper     json mapper for the marker
+     * @param pids       processes of this JVM taking part in the run
+     * @param now        start of a new run [ms]
+     * @return start of the joined or new run [ms]
+     */
+    public static long join(final Path historyDir, final ObjectMapper mapper, final List<Long> pids, final long now) {
+        final Path file = historyDir.resolve(MARKER);
+        final RunMarker marker = readFile(file, RunMarker.class, mapper)
+                .filter(previous -> previous.getPids().stream().anyMatch(ReportRun::isAlive))
+                .orElseGet(() -> new RunMarker(now, new ArrayList<>()));
+        pids.stream().filter(pid -> !marker.getPids().contains(pid)).forEach(marker.getPids()::add);
+        try {
+            Files.createDirectories(historyDir);
+            writeAtomic(file, target -> {
+                try {
+                    mapper.writeValue(target.toFile(), marker);
+                } catch (IOException e) {
+                    throw prepareIoException(e, target);
+                }
+            });
+        } catch (IOException e) {
+            throw prepareIoException(e, historyDir);
+        }
+        return marker.getStart();
+    }
+
+    private static List<Long> owners() {
+        final List<Long> result = new ArrayList<>();
+        result.add(ProcessHandle.current().pid());
+        if (System.getProperty("surefire.real.class.path") != null) {
+            ProcessHandle.current().parent().ifPresent(parent -> result.add(parent.pid()));
+        }
+        return result;
+    }
+
+    private static boolean isAlive(final Long pid) {
+        return pid != null && ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+    }
+}
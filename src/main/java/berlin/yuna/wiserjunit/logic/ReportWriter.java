@@ -0,0 +1,159 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.model.TestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Single background writer which moves finished {@link TestCase}s into the {@link ReportAccumulator}.
+ * Test threads only enqueue into a bounded lock free queue - serialization and disk I/O happen in batches on the writer thread.
+ * A test case must not be modified anymore once it was handed over.
+ */
+public class ReportWriter {
+
+    private static final long IDLE_NS = MILLISECONDS.toNanos(50);
+    private static final long BLOCK_NS = MILLISECONDS.toNanos(1);
+
+    private final ReportAccumulator accumulator;
+    private final int capacity;
+    private final BackPressure backPressure;
+    private final ConcurrentLinkedQueue<TestCase> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread thread;
+
+    /**
+     * Behaviour when the queue is full - the queue never holds more than its capacity
+     */
+    public enum BackPressure {
+        //Test thread waits until the writer caught up
+        BLOCK,
+        //Test case loses flow and error preview so it is written faster, test thread waits until the writer caught up
+        DROP_DETAIL,
+        //Test thread writes the queued test cases and its own test case itself
+        SPILL
+    }
+
+    public ReportWriter(final ReportAccumulator accumulator, final int capacity, final BackPressure backPressure) {
+        this.accumulator = accumulator;
+        this.capacity = Math.max(1, capacity);
+        this.backPressure = backPressure == null ? BackPressure.BLOCK : backPressure;
+        this.thread = new Thread(this::loop, "wiser-report-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Hands the test case over to the writer thread
+     *
+     * @param testCase finished test case
+     */
+    public void offer(final TestCase testCase) {
+        boolean stripped = false;
+        while (!reserve()) {
+            if (backPressure == BackPressure.SPILL) {
+                spill(testCase);
+                return;
+            } else if (backPressure == BackPressure.DROP_DETAIL && !stripped) {
+                stripDetails(testCase);
+                stripped = true;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(BLOCK_NS);
+        }
+        enqueue(testCase);
+    }
+
+    /**
+     * Writes all test cases which were offered before this call
+     * Waits for offers which reserved their slot but did not reach the queue yet
+     */
+    public void flush() {
+        while (pending.get() > 0) {
+            LockSupport.parkNanos(BLOCK_NS);
+        }
+        drain();
+    }
+
+    /**
+     * @return number of test cases which are queued or currently written by the writer thread
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Counts the test case as pending until {@link #enqueue(TestCase)} added it to the queue
+     */
+    private boolean reserve() {
+        while (true) {
+            final int current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+            pending.incrementAndGet();
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            pending.decrementAndGet();
+        }
+    }
+
+    private void enqueue(final TestCase testCase) {
+        try {
+            queue.add(testCase);
+        } finally {
+            pending.decrementAndGet();
+        }
+        LockSupport.unpark(thread);
+    }
+
+    private void loop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(IDLE_NS);
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Writes the queued test cases before the given one to keep the order of the journal
+     */
+    private synchronized void spill(final TestCase testCase) {
+        drain();
+        accumulator.addAll(Collections.singletonList(testCase));
+    }
+
+    private synchronized int drain() {
+        final List<TestCase> batch = new ArrayList<>();
+        TestCase testCase;
+        while ((testCase = queue.poll()) != null) {
+            batch.add(testCase);
+        }
+        if (!batch.isEmpty()) {
+            try {
+                accumulator.addAll(batch);
+            } finally {
+                size.addAndGet(-batch.size());
+            }
+        }
+        return batch.size();
+    }
+
+    private static void stripDetails(final TestCase testCase) {
+        testCase.setBddMsgList(new ArrayList<>());
+        testCase.setBddText("");
+        testCase.setPreviewText("");
+    }
+}
@@ -0,0 +1,52 @@
+package berlin.yuna.wiserjunit.logic;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocated bytes and cpu time of the current thread via {@link com.sun.management.ThreadMXBean}.
+ * Both are counters of the JVM which can be read in a few hundred nanoseconds - returns -1 if the JVM does not support them.
+ */
+public class ResourceMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private ResourceMeter() {
+    }
+
+    /**
+     * @return bytes allocated by the current thread since its start [-1 = not supported]
+     */
+    public static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * @return cpu time of the current thread in nanoseconds [-1 = not supported]
+     */
+    public static long cpuTimeNs() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadCpuTime();
+    }
+
+    /**
+     * @return difference of two counter values [-1 = not supported]
+     */
+    public static long delta(final long before, final long after) {
+        return before < 0 || after < 0 ? -1 : after - before;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                if (threads.isThreadAllocatedMemorySupported() && threads.isCurrentThreadCpuTimeSupported()) {
+                    threads.setThreadAllocatedMemoryEnabled(true);
+                    threads.setThreadCpuTimeEnabled(true);
+                    return threads;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException ignored) {
+            //Not supported by this JVM
+        }
+        return null;
+    }
+}
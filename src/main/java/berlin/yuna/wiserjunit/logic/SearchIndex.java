@@ -0,0 +1,101 @@
+package berlin.yuna.wiserjunit.logic;
+
+import berlin.yuna.wiserjunit.model.TestCase;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static berlin.yuna.wiserjunit.logic.WiserReportExtension.prepareIoException;
+
+/**
+ * Inverted index of the html report rows, filled while the rows are rendered.
+ * Tokens are taken from display name, class, tags, error type and error message and are written as static script
+ * {@code var WISER_SEARCH = {"token": [row, ...]}} which is queried by the search box of the html report.
+ */
+public class SearchIndex {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_MESSAGE_TOKENS = 64;
+
+    private final Map<String, Postings> tokens = new TreeMap<>();
+
+    /**
+     * @param row      row number in the html report
+     * @param testCase test case of the row
+     */
+    public void add(final int row, final TestCase testCase) {
+        addText(row, testCase.getNameDisplay(), Integer.MAX_VALUE);
+        addText(row, testCase.getNameClass(), Integer.MAX_VALUE);
+        if (testCase.getTags() != null) {
+            testCase.getTags().forEach(tag -> addText(row, tag, Integer.MAX_VALUE));
+        }
+        addText(row, testCase.getErrorType(), Integer.MAX_VALUE);
+        addText(row, testCase.getErrorMsg(), MAX_MESSAGE_TOKENS);
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    public void write(final Path target, final ObjectMapper mapper) {
+        try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            write(out, mapper);
+        } catch (IOException e) {
+            throw prepareIoException(e, target);
+        }
+    }
+
+    public void write(final Writer out, final ObjectMapper mapper) throws IOException {
+        out.write("var WISER_SEARCH = ");
+        final JsonGenerator json = mapper.getFactory().createGenerator(out);
+        json.writeStartObject();
+        for (Map.Entry<String, Postings> token : tokens.entrySet()) {
+            json.writeFieldName(token.getKey());
+            json.writeArray(token.getValue().rows, 0, token.getValue().size);
+        }
+        json.writeEndObject();
+        json.flush();
+        out.write(";\n");
+    }
+
+    private void addText(final int row, final String text, final int maxTokens) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        int count = 0;
+        for (String token : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.computeIfAbsent(token, key -> new Postings()).add(row);
+                if (++count >= maxTokens) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class Postings {
+        private int[] rows = new int[4];
+        private int size;
+
+        private void add(final int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package berlin.yuna.wiserjunit.logic;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static berlin.yuna.wiserjunit.logic.FileUtils.removeExtension;
+
+/**
+ * Run wide index of source files by simple file name.
+ * The project directory is walked only once on a background thread, all lookups are map lookups.
+ */
+public class SourceIndex {
+
+    private static final Map<Path, SourceIndex> INDEXES = new ConcurrentHashMap<>();
+    private static final int MAX_DEPTH = 32;
+
+    private final CompletableFuture<Map<String, List<Path>>> files;
+
+    private SourceIndex(final Path workDir, final Set<String> extensions) {
+        files = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                files.complete(walk(workDir, extensions));
+            } catch (Exception e) {
+                files.complete(Collections.emptyMap());
+            }
+        }, "wiser-source-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the index of the given directory and starts building it in the background if not done yet
+     *
+     * @param workDir    root directory to index
+     * @param extensions source file extensions to index e.g. [java, groovy]
+     * @return index of the directory
+     */
+    public static SourceIndex of(final Path workDir, final Set<String> extensions) {
+        return INDEXES.computeIfAbsent(workDir.toAbsolutePath().normalize(), dir -> new SourceIndex(dir, extensions));
+    }
+
+    /**
+     * Finds the source file of a class
+     *
+     * @param name simple class name
+     * @param pkg  package name to prefer on duplicated file names (nullable)
+     * @return path of the source file
+     */
+    public Optional<Path> find(final String name, final String pkg) {
+        final List<Path> candidates = files.join().getOrDefault(name, Collections.emptyList());
+        if (pkg != null && candidates.size() > 1) {
+            final String pkgPath = pkg.replace(".", candidates.get(0).getFileSystem().getSeparator());
+            for (Path candidate : candidates) {
+                if (candidate.getParent() != null && candidate.getParent().toString().endsWith(pkgPath)) {
+                    return Optional.of(candidate);
+                }
+            }
+        }
+        return candidates.stream().findFirst();
+    }
+
+    private static Map<String, List<Path>> walk(final Path workDir, final Set<String> extensions) throws IOException {
+        final Map<String, List<Path>> result = new HashMap<>();
+        Files.walkFileTree(workDir, EnumSet.noneOf(FileVisitOption.class), MAX_DEPTH, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                final Path name = dir.getFileName();
+                return name != null && !dir.equals(workDir) && name.toString().startsWith(".") ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                final String fileName = file.getFileName().toString();
+                final int pos = fileName.lastIndexOf('.');
+                if (attrs.isRegularFile() && pos > 0 && extensions.contains(fileName.substring(pos + 1))) {
+                    result.computeIfAbsent(removeExtension(fileName), key -> new ArrayList<>(1)).add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return result;
+    }
+}
@@ -1,16 +1,20 @@
 package berlin.yuna.wiserjunit.logic;
 
 import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.model.ContainerCase;
+import berlin.yuna.wiserjunit.model.FlowIndex;
 import berlin.yuna.wiserjunit.model.Report;
 import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.bdd.BddRecorder;
 import berlin.yuna.wiserjunit.model.exception.BddException;
 import berlin.yuna.wiserjunit.model.exception.WiserExtensionException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestWatcher;
@@ -23,29 +27,45 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.TreeSet;
-import java.util.concurrent.atomic.AtomicReference;
 
 import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_YAML;
 import static berlin.yuna.wiserjunit.logic.FileUtils.readFile;
 import static berlin.yuna.wiserjunit.logic.FileUtils.readLine;
 import static berlin.yuna.wiserjunit.logic.FileUtils.removeExtension;
-import static berlin.yuna.wiserjunit.logic.ReportGeneratorCsv.generateCsv;
-import static berlin.yuna.wiserjunit.logic.ReportGeneratorHtml.generateHtml;
 import static java.lang.System.currentTimeMillis;
 import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 @SuppressWarnings("ALL")
-public class WiserReportExtension implements BeforeAllCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback, AfterAllCallback, TestWatcher {
+public class WiserReportExtension implements BeforeAllCallback, BeforeEachCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback, AfterEachCallback, AfterAllCallback, TestWatcher {
 
     private static final String TEST_CASES = "TEST_CASE";
+    //Nano times of [before each, test body start, test body end] and resources [allocated bytes, cpu time] at the test body start
+    private static final String PHASES = "PHASES";
+    private static final String CONTAINER = "CONTAINER";
+    //Nano times of [before all, first test or nested class start, last test or nested class end]
+    private static final String CONTAINER_PHASES = "CONTAINER_PHASES";
     private static final String USER_DIR = getProperty("user.dir");
     private static final WiserJunitConfig CONFIG = readFile(Paths.get(USER_DIR, "wiser_report.yaml"), WiserJunitConfig.class, MAPPER_YAML).orElseGet(WiserJunitConfig::new);
+    private static final ReportAccumulator ACCUMULATOR = new ReportAccumulator(CONFIG);
+    private static final ReportWriter WRITER = new ReportWriter(ACCUMULATOR, CONFIG.getWriterQueueSize(), CONFIG.getWriterBackPressure());
+    private static final RegressionDetector REGRESSIONS = RegressionDetector.of(CONFIG);
     private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create("berlin", "yuna", "WISER_REPORT");
 
+    static {
+        //Fallback for launchers without the WiserReportListener
+        Runtime.getRuntime().addShutdownHook(new Thread(WiserReportListener::renderPending, "wiser-report-shutdown"));
+    }
+
     @Override
     public void testDisabled(final ExtensionContext context, final Optional<String> reason) {
+        runStart();
         final Optional<Method> testMethod = context.getTestMethod();
         testMethod.ifPresent(method -> {
             final TestCase testCase = toTestCase(context, method);
@@ -67,38 +87,120 @@ public class WiserReportExtension implements BeforeAllCallback, BeforeTestExecut
 
     @Override
     public void beforeAll(final ExtensionContext context) {
-        //Do nothing
+        final long start = nanoTime();
+        runStart();
+        if (CONFIG.isGenerateFlow() || CONFIG.getErrorPreviewLines() > 0) {
+            FileUtils.sourceIndex(Paths.get(CONFIG.getProjectDir()));
+        }
+        markContainers(context, 1, start);
+        context.getTestClass().ifPresent(testClass -> {
+            final ContainerCase container = new ContainerCase();
+            container.setPkg(testClass.getPackage().getName());
+            container.setNameClass(testClass.getSimpleName());
+            container.setNameDisplay(context.getDisplayName());
+            context.getStore(NAMESPACE).put(CONTAINER, container);
+            context.getStore(NAMESPACE).put(CONTAINER_PHASES, new long[]{start, -1, -1});
+        });
+    }
+
+    @Override
+    public void beforeEach(final ExtensionContext context) {
+        markContainers(context, 1, nanoTime());
+        context.getTestMethod().ifPresent(method -> {
+            context.getStore(NAMESPACE).put(TEST_CASES, toTestCase(context, method));
+            context.getStore(NAMESPACE).put(PHASES, new long[]{nanoTime(), -1, -1, -1, -1});
+            BddRecorder.start();
+        });
     }
 
     @Override
     public void beforeTestExecution(final ExtensionContext context) {
-        context.getTestMethod().ifPresent(method -> context.getStore(NAMESPACE).put(TEST_CASES, toTestCase(context, method)));
+        phases(context).ifPresent(phases -> {
+            if (CONFIG.isMeasureResources()) {
+                phases[3] = ResourceMeter.allocatedBytes();
+                phases[4] = ResourceMeter.cpuTimeNs();
+            }
+            phases[1] = nanoTime();
+        });
     }
 
     @Override
     public void afterTestExecution(final ExtensionContext context) {
+        phases(context).ifPresent(phases -> {
+            phases[2] = nanoTime();
+            if (CONFIG.isMeasureResources()) {
+                final long allocated = ResourceMeter.delta(phases[3], ResourceMeter.allocatedBytes());
+                final long cpu = ResourceMeter.delta(phases[4], ResourceMeter.cpuTimeNs());
+                final TestCase testCase = context.getStore(NAMESPACE).get(TEST_CASES, TestCase.class);
+                testCase.setAllocatedBytes(allocated);
+                testCase.setCpuNs(cpu);
+            }
+        });
+    }
+
+    /**
+     * Finishes the test case after {@code @AfterEach} - also called when {@code @BeforeEach} failed
+     */
+    @Override
+    public void afterEach(final ExtensionContext context) {
+        final long end = nanoTime();
+        markContainers(context, 2, end);
         context.getTestMethod().ifPresent(method -> {
+            final List<String> steps = BddRecorder.stop();
             final TestCase testCase = context.getStore(NAMESPACE).get(TEST_CASES, TestCase.class);
-            final Optional<Path> classPath = FileUtils.getPhysicalPath(Paths.get(CONFIG.getProjectDir()), method.getDeclaringClass());
+            if (testCase == null) {
+                return;
+            }
             testCase.setTimeEnd(currentTimeMillis());
+            phases(context).ifPresent(phases -> setPhases(testCase, phases, end));
+            final Optional<FlowIndex> flowIndex = FlowParser.readFlowIndex(method.getDeclaringClass());
+            final Optional<Path> classPath = flowIndex.isPresent() ? Optional.empty() : FileUtils.getPhysicalPath(Paths.get(CONFIG.getProjectDir()), method.getDeclaringClass());
             testCase.setDisabled(isDisabled(context));
             context.getExecutionException().ifPresent(throwable -> {
                 testCase.setSuccess(false);
                 testCase.setErrorType(throwable.getClass().getSimpleName());
-                if (classPath.isPresent() && CONFIG.getErrorPreviewLines() > 0) {
-                    testCase.setPreviewText(getErrorPreviewLines(classPath.get(), throwable.getStackTrace()));
-                }
-                testCase.setErrorLine(getErrorLine(classPath.get(), throwable.getStackTrace()));
+                final String sourceName = flowIndex.map(FlowIndex::getSource).orElseGet(() -> classPath.map(path -> path.getFileName().toString()).orElse(null));
+                findTrace(sourceName, throwable.getStackTrace()).ifPresent(trace -> {
+                    testCase.setErrorLine(trace.getLineNumber());
+                    if (CONFIG.getErrorPreviewLines() > 0) {
+                        testCase.setPreviewText(getErrorPreviewLines(flowIndex, classPath, trace.getLineNumber()));
+                    }
+                });
                 setErrorMessage(testCase, throwable);
             });
-            if (CONFIG.isGenerateFlow() && testCase.getBddMsgList().isEmpty() && !context.getExecutionException().isPresent() && classPath.isPresent()) {
-                FlowParser.parseFlowFromFile(method, classPath.get()).forEach(testCase::addBddMeg);
-                testCase.setBddText(String.join("", testCase.getBddMsgList()));
+            if (CONFIG.isGenerateFlow() && !steps.isEmpty() && testCase.getBddMsgList().isEmpty() && !context.getExecutionException().isPresent()) {
+                //Executed steps with their durations
+                testCase.setBddMsgList(steps);
+            } else if (CONFIG.isGenerateFlow() && testCase.getBddMsgList().isEmpty() && !context.getExecutionException().isPresent()) {
+                flowIndex.map(index -> index.getFlows().getOrDefault(method.getName().toLowerCase(Locale.ROOT), Collections.emptyList()))
+                        .or(() -> classPath.map(path -> FlowParser.parseFlowFromFile(method, path)))
+                        .ifPresent(testCase::setBddMsgList);
+            }
+            try {
+                REGRESSIONS.verify(testCase);
+            } finally {
+                saveTestCase(testCase);
             }
-            saveTestCase(testCase);
         });
     }
 
+    private static Optional<long[]> phases(final ExtensionContext context) {
+        return Optional.ofNullable(context.getStore(NAMESPACE).get(PHASES, long[].class));
+    }
+
+    private static void setPhases(final TestCase testCase, final long[] phases, final long end) {
+        testCase.setDurationNs(end - phases[0]);
+        testCase.setDuration(NANOSECONDS.toMillis(end - phases[0]));
+        if (phases[1] < 0) {
+            //@BeforeEach failed
+            testCase.setBeforeEachNs(end - phases[0]);
+        } else {
+            final long bodyEnd = phases[2] < 0 ? end : phases[2];
+            testCase.setBeforeEachNs(phases[1] - phases[0]);
+            testCase.setBodyNs(bodyEnd - phases[1]);
+            testCase.setAfterEachNs(end - bodyEnd);
+        }
+    }
 
     private void setErrorMessage(final TestCase testCase, final Throwable throwable) {
         if (throwable instanceof BddException) {
@@ -111,29 +213,54 @@ public class WiserReportExtension implements BeforeAllCallback, BeforeTestExecut
         }
     }
 
-    private String getErrorPreviewLines(final Path path, final StackTraceElement... stackTraceElements) {
-        final String fileName = removeExtension(path.getFileName().toString());
-        for (StackTraceElement trace : stackTraceElements) {
-            if (fileName.equalsIgnoreCase(removeExtension(trace.getFileName()))) {
-                return readLine(path, trace.getLineNumber(), CONFIG.getErrorPreviewLines()).map(String::trim).orElse("");
-            }
-        }
-        return "";
+    private String getErrorPreviewLines(final Optional<FlowIndex> flowIndex, final Optional<Path> classPath, final int lineNumber) {
+        final int lineCount = CONFIG.getErrorPreviewLines();
+        return flowIndex.map(index -> index.readLines(lineNumber, lineCount))
+                .orElseGet(() -> classPath.flatMap(path -> readLine(path, lineNumber, lineCount)))
+                .map(String::trim)
+                .orElse("");
     }
 
-    private int getErrorLine(final Path path, final StackTraceElement... stackTraceElements) {
-        final String fileName = path == null ? "#InvalidFileName#" : path.getFileName().toString();
+    private Optional<StackTraceElement> findTrace(final String sourceName, final StackTraceElement... stackTraceElements) {
+        final String fileName = sourceName == null ? "#InvalidFileName#" : removeExtension(sourceName);
         for (StackTraceElement trace : stackTraceElements) {
-            if (fileName.equalsIgnoreCase(removeExtension(trace.getFileName()))) {
-                return trace.getLineNumber();
+            if (trace.getFileName() != null && fileName.equalsIgnoreCase(removeExtension(trace.getFileName()))) {
+                return Optional.of(trace);
             }
         }
-        return -1;
+        return Optional.empty();
     }
 
     @Override
     public void afterAll(final ExtensionContext context) {
-        writeToFile();
+        final long end = nanoTime();
+        markContainers(context, 2, end);
+        final ContainerCase container = context.getStore(NAMESPACE).get(CONTAINER, ContainerCase.class);
+        final long[] phases = context.getStore(NAMESPACE).get(CONTAINER_PHASES, long[].class);
+        if (container != null && phases != null) {
+            container.setTimeEnd(currentTimeMillis());
+            container.setDurationNs(end - phases[0]);
+            container.setBeforeAllNs((phases[1] < 0 ? end : phases[1]) - phases[0]);
+            container.setAfterAllNs(phases[2] < 0 ? 0 : end - phases[2]);
+            ACCUMULATOR.addContainer(container);
+            //Rendering is done once at the end of the test plan by WiserReportListener
+            WiserReportListener.markPending(WiserReportExtension::writeToFile);
+        }
+    }
+
+    /**
+     * Marks the start of the first [index 1] or the end of the last [index 2] child of all parent containers
+     */
+    private static void markContainers(final ExtensionContext context, final int index, final long time) {
+        Optional<ExtensionContext> parent = context.getParent();
+        while (parent.isPresent()) {
+            final ExtensionContext current = parent.get();
+            final long[] phases = current.getTestMethod().isPresent() ? null : current.getStore(NAMESPACE).get(CONTAINER_PHASES, long[].class);
+            if (phases != null && (index == 2 || phases[index] < 0)) {
+                phases[index] = time;
+            }
+            parent = current.getParent();
+        }
     }
 
     private boolean isDisabled(final ExtensionContext context) {
@@ -143,49 +270,43 @@ public class WiserReportExtension implements BeforeAllCallback, BeforeTestExecut
     }
 
     private void saveTestCase(final TestCase testCase) {
-        final Report caseList = getTestCaseList();
-        caseList.remove(testCase);
-        caseList.add(testCase);
-        CONFIG.tryUnlock(path -> {
-                    try {
-                        CONFIG.getMapperJson().writeValue(path.toFile(), caseList);
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                }
-        );
+        WRITER.offer(testCase);
+        WiserReportListener.markPending(WiserReportExtension::writeToFile);
     }
 
+    /**
+     * Merges, calculates and renders while holding the report lock.
+     * Rendering outside the lock would let a fork with an older snapshot overwrite the outputs of a newer one.
+     */
     private static synchronized void writeToFile() {
+        WRITER.flush();
+        ACCUMULATOR.close();
+        final long runStart = runStart();
         CONFIG.tryUnlock(output -> {
+            output.getParent().toFile().mkdirs();
+            final Report report = ACCUMULATOR.merge(output).calculate();
+            if (CONFIG.getHistoryRuns() > 0) {
+                ReportHistory.of(CONFIG).append(report, runStart, CONFIG.getHistoryRuns(), CONFIG.getHistoryMaxAgeDays());
+            }
+            final ReportLock lock = CONFIG.getLock();
+            report.getMetaData().setLockWaitMs(lock.getWaitMs());
+            report.getMetaData().setLockAcquisitions(lock.getAcquisitions());
+            report.getMetaData().setLockTimeouts(lock.getTimeouts());
             try {
-                output.getParent().toFile().mkdirs();
-                final Report report = getTestCaseList().calculate();
-                CONFIG.getOutputJson().ifPresent(target -> writeReport(report, target, CONFIG.getMapperJson()));
-                CONFIG.getOutputYaml().ifPresent(target -> writeReport(report, target, CONFIG.getMapperYaml()));
-                CONFIG.getOutputCsv().ifPresent(target -> generateCsv(report, target));
-                CONFIG.getOutputHtml().ifPresent(target -> generateHtml(report, target, CONFIG));
+                ReportRenderer.render(report, CONFIG);
             } catch (Exception e) {
-                throw prepareIoException(e, output);
+                e.printStackTrace();
             }
         });
     }
 
-    private static void writeReport(final Report report, final Path target, final ObjectMapper mapper) {
-        try {
-            mapper.writer().withDefaultPrettyPrinter().writeValue(target.toFile(), report);
-        } catch (Exception e) {
-            throw prepareIoException(e, target);
-        }
+    /**
+     * Resolved before the first test case starts as only test cases started in the run are part of its history
+     */
+    private static long runStart() {
+        return CONFIG.getHistoryRuns() > 0 ? ReportRun.start(CONFIG) : -1;
     }
 
-    private static synchronized Report getTestCaseList() {
-        final AtomicReference<Report> testCases = new AtomicReference<>();
-        CONFIG.tryUnlock(path -> testCases.set(readFile(path, Report.class, CONFIG.getMapperJson()).orElseGet(Report::new)));
-        return testCases.get();
-    }
-
-
     private static TestCase toTestCase(final ExtensionContext context, final Method method) {
         final String displayName = context.getElement().flatMap(el -> AnnotationUtils.findAnnotation(el, DisplayName.class).map(DisplayName::value)).orElseGet(context::getDisplayName);
         TestCase testCase = new TestCase();
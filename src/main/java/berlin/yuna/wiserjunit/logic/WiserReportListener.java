@@ -0,0 +1,38 @@
+package berlin.yuna.wiserjunit.logic;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Renders the reports exactly once when the whole test plan is finished.
+ * Registered via {@link java.util.ServiceLoader} - the {@link WiserReportExtension} only collects the test cases.
+ * Does not touch the report config or outputs if no test was collected.
+ */
+public class WiserReportListener implements TestExecutionListener {
+
+    private static final AtomicReference<Runnable> PENDING = new AtomicReference<>();
+
+    /**
+     * Registers the render task which runs at the end of the test plan
+     *
+     * @param render render task
+     */
+    public static void markPending(final Runnable render) {
+        PENDING.set(render);
+    }
+
+    /**
+     * Runs the pending render task if any
+     */
+    public static void renderPending() {
+        Optional.ofNullable(PENDING.getAndSet(null)).ifPresent(Runnable::run);
+    }
+
+    @Override
+    public void testPlanExecutionFinished(final TestPlan testPlan) {
+        renderPending();
+    }
+}
@@ -0,0 +1,137 @@
+package berlin.yuna.wiserjunit.model;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Objects;
+
+import static berlin.yuna.wiserjunit.model.TestCase.toPrettyNanos;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * Timing of a test class (or {@code @Nested} class) - {@code @BeforeAll}, {@code @AfterAll} and the whole class including its tests.
+ * Attached to the class node of {@link Report#calculate()} via {@link TestCaseNode#getContainer()}.
+ */
+@SuppressWarnings("unused")
+@JsonPropertyOrder({"id", "pkg", "nameClass", "nameDisplay", "durationPretty", "durationNs", "beforeAllNs", "afterAllNs", "timeStart", "timeEnd"})
+public class ContainerCase {
+
+    private String pkg;
+    private String nameClass;
+    private String nameDisplay;
+    private long durationNs = -1;
+    private long beforeAllNs = -1;
+    private long afterAllNs = -1;
+    private long timeStart = currentTimeMillis();
+    private long timeEnd = -1;
+
+    public String getId() {
+        return pkg + "." + nameClass;
+    }
+
+    public void setId(final String id) {
+        //derived
+    }
+
+    public String getPkg() {
+        return pkg;
+    }
+
+    public void setPkg(final String pkg) {
+        this.pkg = ValuePool.of(pkg);
+    }
+
+    public String getNameClass() {
+        return nameClass;
+    }
+
+    public void setNameClass(final String nameClass) {
+        this.nameClass = ValuePool.of(nameClass);
+    }
+
+    public String getNameDisplay() {
+        return nameDisplay;
+    }
+
+    public void setNameDisplay(final String nameDisplay) {
+        this.nameDisplay = nameDisplay;
+    }
+
+    public String getDurationPretty() {
+        return durationNs < 0 ? "" : toPrettyNanos(durationNs);
+    }
+
+    public void setDurationPretty(final String durationPretty) {
+        //derived from durationNs
+    }
+
+    public long getDurationNs() {
+        return durationNs;
+    }
+
+    public void setDurationNs(final long durationNs) {
+        this.durationNs = durationNs;
+    }
+
+    public long getBeforeAllNs() {
+        return beforeAllNs;
+    }
+
+    public void setBeforeAllNs(final long beforeAllNs) {
+        this.beforeAllNs = beforeAllNs;
+    }
+
+    public long getAfterAllNs() {
+        return afterAllNs;
+    }
+
+    public void setAfterAllNs(final long afterAllNs) {
+        this.afterAllNs = afterAllNs;
+    }
+
+    /**
+     * @return time spent in {@code @BeforeAll} and {@code @AfterAll}
+     */
+    public long getFixtureNs() {
+        return Math.max(0, beforeAllNs) + Math.max(0, afterAllNs);
+    }
+
+    public void setFixtureNs(final long fixtureNs) {
+        //derived
+    }
+
+    public long getTimeStart() {
+        return timeStart;
+    }
+
+    public void setTimeStart(final long timeStart) {
+        this.timeStart = timeStart;
+    }
+
+    public long getTimeEnd() {
+        return timeEnd;
+    }
+
+    public void setTimeEnd(final long timeEnd) {
+        this.timeEnd = timeEnd;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Objects.equals(getId(), ((ContainerCase) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getId().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ContainerCase{" +
+                "id='" + getId() + '\'' +
+                ", durationNs=" + durationNs +
+                '}';
+    }
+}
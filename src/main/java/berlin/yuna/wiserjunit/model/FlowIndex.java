@@ -0,0 +1,70 @@
+package berlin.yuna.wiserjunit.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Flows and method source lines of a test class extracted at compile time
+ */
+@SuppressWarnings({"unused"})
+public class FlowIndex {
+
+    public static final String RESOURCE_DIR = "META-INF/wiser-unit/";
+
+    private String source;
+    private Map<String, List<String>> flows = new HashMap<>();
+    private Map<Integer, String> lines = new TreeMap<>();
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(final String source) {
+        this.source = source;
+    }
+
+    public Map<String, List<String>> getFlows() {
+        return flows;
+    }
+
+    public void setFlows(final Map<String, List<String>> flows) {
+        this.flows = flows;
+    }
+
+    public Map<Integer, String> getLines() {
+        return lines;
+    }
+
+    public void setLines(final Map<Integer, String> lines) {
+        this.lines = new TreeMap<>(lines);
+    }
+
+    /**
+     * Reads the indexed lines around the given line number
+     *
+     * @param threshold line number in the middle of the result
+     * @param lineCount number of lines to read
+     * @return lines separated by line separator or empty if no line is indexed
+     */
+    public Optional<String> readLines(final int threshold, final int lineCount) {
+        final int start = Math.max(threshold - (lineCount / 2), 1);
+        final List<String> result = new ArrayList<>();
+        for (int i = start; i < start + lineCount; i++) {
+            final String line = lines.get(i);
+            if (line != null) {
+                result.add(line);
+            }
+        }
+        return result.isEmpty() ? Optional.empty() : Optional.of(String.join(lineSeparator(), result));
+    }
+
+    public static String resourceName(final String className) {
+        return RESOURCE_DIR + className + ".json";
+    }
+}
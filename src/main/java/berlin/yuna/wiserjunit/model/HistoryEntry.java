@@ -0,0 +1,29 @@
+package berlin.yuna.wiserjunit.model;
+
+/**
+ * Result of a test case in a past run
+ */
+public class HistoryEntry {
+
+    private final String runId;
+    private final long duration;
+    private final boolean success;
+
+    public HistoryEntry(final String runId, final long duration, final boolean success) {
+        this.runId = runId;
+        this.duration = duration;
+        this.success = success;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+}
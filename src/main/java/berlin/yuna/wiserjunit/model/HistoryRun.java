@@ -0,0 +1,45 @@
+package berlin.yuna.wiserjunit.model;
+
+/**
+ * One line of the run history {@code runs.jsonl} - the segment file holds the test results of the run
+ */
+@SuppressWarnings({"unused"})
+public class HistoryRun {
+
+    private String id;
+    private String segment;
+    private Report.MetaData metaData;
+
+    public HistoryRun() {
+    }
+
+    public HistoryRun(final String id, final String segment, final Report.MetaData metaData) {
+        this.id = id;
+        this.segment = segment;
+        this.metaData = metaData;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(final String id) {
+        this.id = id;
+    }
+
+    public String getSegment() {
+        return segment;
+    }
+
+    public void setSegment(final String segment) {
+        this.segment = segment;
+    }
+
+    public Report.MetaData getMetaData() {
+        return metaData;
+    }
+
+    public void setMetaData(final Report.MetaData metaData) {
+        this.metaData = metaData;
+    }
+}
@@ -2,6 +2,11 @@ package berlin.yuna.wiserjunit.model;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -12,23 +17,54 @@ public class Report {
 
     private MetaData metaData = new MetaData();
     private TestCaseNode testCases = new TestCaseNode();
-
+    private final Map<String, ContainerCase> containers = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Calculates the run totals and the package &rarr; class &rarr; method tree {@link TestCaseNode#getChildren()} in a single pass.
+     * The {@link ContainerCase}s are attached to their class nodes.
+     *
+     * @return this report
+     */
     public Report calculate() {
-        final int notFailed = (int) stream().filter(TestCase::isSuccess).count();
-        metaData.testCases = testCases.size();
-        metaData.testCasesDisabled = (int) stream().filter(TestCase::isDisabled).count();
-        metaData.testCasesSucceed = notFailed - metaData.testCasesDisabled;
-        metaData.testCasesFailed = testCases.size() - notFailed;
-        metaData.percentageSucceed = ((metaData.testCasesSucceed * 100f) / (Math.max(testCases.size(), 1)));
-        metaData.percentageDisabled = ((metaData.testCasesFailed * 100f) / (Math.max(testCases.size(), 1)));
-        metaData.percentageDisabled = ((metaData.testCasesDisabled * 100f) / (Math.max(testCases.size(), 1)));
+        final Map<String, TestCaseNode> nodes = new HashMap<>();
+        testCases.resetStats();
+        testCases.getChildren().clear();
+        testCases.forEach(testCase -> {
+            testCases.record(testCase);
+            final TestCaseNode pkg = childNode(nodes, testCases, testCase.getPkg(), testCase.getPkg());
+            final String clsKey = pkg.getName() + "#" + testCase.getNameClass();
+            final TestCaseNode cls = childNode(nodes, pkg, clsKey, testCase.getNameClass());
+            childNode(nodes, cls, clsKey + "#" + testCase.getNameTest(), testCase.getNameTest()).record(testCase);
+            pkg.record(testCase);
+            cls.record(testCase);
+        });
+        containers.values().forEach(container -> {
+            final TestCaseNode pkg = childNode(nodes, testCases, container.getPkg(), container.getPkg());
+            childNode(nodes, pkg, pkg.getName() + "#" + container.getNameClass(), container.getNameClass()).setContainer(container);
+        });
+        final int total = testCases.getCount();
+        metaData.testCases = total;
+        metaData.testCasesDisabled = testCases.getDisabled();
+        metaData.testCasesSucceed = total - testCases.getFailed() - testCases.getDisabled();
+        metaData.testCasesFailed = testCases.getFailed();
+        metaData.percentageSucceed = ((metaData.testCasesSucceed * 100f) / (Math.max(total, 1)));
+        metaData.percentageFailed = testCases.getFailureRate();
+        metaData.percentageDisabled = ((metaData.testCasesDisabled * 100f) / (Math.max(total, 1)));
         metaData.dateEnd = nowUtc();
         metaData.timeEnd = System.currentTimeMillis();
-        metaData.duration = stream().mapToLong(TestCase::getDuration).sum();
+        metaData.duration = testCases.getDurationTotal();
         metaData.durationPretty = toPrettyDuration(metaData.duration);
         return this;
     }
 
+    private static TestCaseNode childNode(final Map<String, TestCaseNode> nodes, final TestCaseNode parent, final String key, final String name) {
+        return nodes.computeIfAbsent(key, k -> {
+            final TestCaseNode node = new TestCaseNode(name == null ? "" : name);
+            parent.addChildNode(node);
+            return node;
+        });
+    }
+
     public MetaData getMetaData() {
         return metaData;
     }
@@ -45,6 +81,28 @@ public class Report {
         this.testCases = testCases;
     }
 
+    public Collection<ContainerCase> getContainers() {
+        return containers.values();
+    }
+
+    public void setContainers(final Collection<ContainerCase> containers) {
+        this.containers.clear();
+        containers.forEach(this::addContainer);
+    }
+
+    public Optional<ContainerCase> getContainer(final String id) {
+        return Optional.ofNullable(containers.get(id));
+    }
+
+    /**
+     * Adds or replaces the container with the same {@link ContainerCase#getId()}
+     *
+     * @param container container to add
+     */
+    public void addContainer(final ContainerCase container) {
+        containers.put(container.getId(), container);
+    }
+
     public Stream<TestCase> stream() {
         return testCases.stream();
     }
@@ -84,6 +142,9 @@ public class Report {
         private long timeEnd = System.currentTimeMillis();
         private String durationPretty;
         private long duration;
+        private long lockWaitMs;
+        private long lockAcquisitions;
+        private long lockTimeouts;
 
         public int getTestCases() {
             return testCases;
@@ -188,5 +249,29 @@ public class Report {
         public void setPercentageFailed(float percentageFailed) {
             this.percentageFailed = percentageFailed;
         }
+
+        public long getLockWaitMs() {
+            return lockWaitMs;
+        }
+
+        public void setLockWaitMs(final long lockWaitMs) {
+            this.lockWaitMs = lockWaitMs;
+        }
+
+        public long getLockAcquisitions() {
+            return lockAcquisitions;
+        }
+
+        public void setLockAcquisitions(final long lockAcquisitions) {
+            this.lockAcquisitions = lockAcquisitions;
+        }
+
+        public long getLockTimeouts() {
+            return lockTimeouts;
+        }
+
+        public void setLockTimeouts(final long lockTimeouts) {
+            this.lockTimeouts = lockTimeouts;
+        }
     }
-}
+}
\ No newline at end of file
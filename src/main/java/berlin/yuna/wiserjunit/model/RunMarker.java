@@ -0,0 +1,38 @@
+package berlin.yuna.wiserjunit.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Content of the {@code current-run.json} in the history folder - the start of the current build and the processes taking part in it
+ */
+@SuppressWarnings({"unused"})
+public class RunMarker {
+
+    private long start;
+    private List<Long> pids = new ArrayList<>();
+
+    public RunMarker() {
+    }
+
+    public RunMarker(final long start, final List<Long> pids) {
+        this.start = start;
+        this.pids = pids;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public void setStart(final long start) {
+        this.start = start;
+    }
+
+    public List<Long> getPids() {
+        return pids;
+    }
+
+    public void setPids(final List<Long> pids) {
+        this.pids = pids;
+    }
+}
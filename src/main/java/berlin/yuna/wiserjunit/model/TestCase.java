@@ -1,40 +1,76 @@
 package berlin.yuna.wiserjunit.model;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 
-import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 
+/**
+ * Result of a single test.
+ * Package, class, test and tag names are shared via {@link ValuePool}. {@link #getId()}, {@link #getGroup()},
+ * {@link #getBddText()} and {@link #getDurationPretty()} are derived on demand and not stored per test case.
+ */
 @SuppressWarnings("unused")
+@JsonPropertyOrder({"id", "group", "pkg", "tags", "nameDisplay", "nameClass", "nameTest", "bddMsgList", "errorMsg", "previewText", "bddText",
+        "errorLine", "errorType", "durationPretty", "success", "disabled", "duration", "timeStart", "timeEnd", "failed", "notDisabled",
+        "baselineMedian", "baselineP90", "regression", "durationNs", "beforeEachNs", "bodyNs", "afterEachNs",
+        "allocatedBytes", "cpuNs", "cpuRatio"})
 public class TestCase implements Comparable<TestCase> {
-    private String id;
-    private String group;
+    private static final String DEFAULT_TAG = "default";
     private String pkg;
-    private TreeSet<String> tags;
+    private Set<String> tags;
     private String nameDisplay;
     private String nameClass;
     private String nameTest;
-    private List<String> bddMsgList = new ArrayList<>();
+    private List<String> bddMsgList = Collections.emptyList();
+    private boolean bddMsgListOwned;
     private String errorMsg = "";
     private String previewText = "";
-    private String bddText = "";
+    //Only set if it differs from the joined bddMsgList
+    private String bddText;
     private long errorLine = -1;
     private String errorType = "";
-    private String durationPretty = "";
     private boolean success = true;
     private boolean disabled = true;
     private long duration = -1;
     private long timeStart = currentTimeMillis();
     private long timeEnd = -1;
+    //Nano time of the whole test and its phases @BeforeEach, test body and @AfterEach [-1 = not measured]
+    private long durationNs = -1;
+    private long beforeEachNs = -1;
+    private long bodyNs = -1;
+    private long afterEachNs = -1;
+    //Allocated bytes and cpu time of the test body on the test thread [-1 = not measured]
+    private long allocatedBytes = -1;
+    private long cpuNs = -1;
+    //Duration baseline of previous runs [-1 = no baseline]
+    private long baselineMedian = -1;
+    private long baselineP90 = -1;
+    private boolean regression;
+    private int hash;
+    /**
+     * @deprecated {@link DecimalFormat} is not thread safe - use {@link #formatDecimal(double)}
+     */
+    @Deprecated
     public static final DecimalFormat DECIMAL_FORMATTER = new DecimalFormat("0.00");
-
+    //Reports are rendered concurrently and durations are formatted on the test threads
+    private static final ThreadLocal<DecimalFormat> DECIMAL_FORMAT = ThreadLocal.withInitial(() -> new DecimalFormat("0.00"));
+
+    /**
+     * The id is derived from package, class, tags and test name
+     *
+     * @param id ignored
+     */
     public void setId(String id) {
-        this.id = id;
+        //derived
     }
 
     public String getPkg() {
@@ -42,7 +78,8 @@ public class TestCase implements Comparable<TestCase> {
     }
 
     public void setPkg(String pkg) {
-        this.pkg = pkg;
+        this.pkg = ValuePool.of(pkg);
+        this.hash = 0;
     }
 
     public Set<String> getTags() {
@@ -50,7 +87,8 @@ public class TestCase implements Comparable<TestCase> {
     }
 
     public void setTags(final TreeSet<String> tags) {
-        this.tags = tags;
+        this.tags = ValuePool.of(tags);
+        this.hash = 0;
     }
 
     public String getNameDisplay() {
@@ -66,7 +104,8 @@ public class TestCase implements Comparable<TestCase> {
     }
 
     public void setNameClass(String nameClass) {
-        this.nameClass = nameClass;
+        this.nameClass = ValuePool.of(nameClass);
+        this.hash = 0;
     }
 
     public String getNameTest() {
@@ -74,7 +113,8 @@ public class TestCase implements Comparable<TestCase> {
     }
 
     public void setNameTest(String nameTest) {
-        this.nameTest = nameTest;
+        this.nameTest = ValuePool.of(nameTest);
+        this.hash = 0;
     }
 
     public String getErrorMsg() {
@@ -90,7 +130,7 @@ public class TestCase implements Comparable<TestCase> {
     }
 
     public void setErrorType(String errorType) {
-        this.errorType = errorType;
+        this.errorType = ValuePool.of(errorType);
     }
 
     public String getPreviewText() {
@@ -134,11 +174,11 @@ public class TestCase implements Comparable<TestCase> {
     }
 
     public String getDurationPretty() {
-        return durationPretty;
+        return durationNs > -1 ? toPrettyNanos(durationNs) : duration == -1 ? "" : toPrettyDuration(duration);
     }
 
     public void setDurationPretty(String durationPretty) {
-        this.durationPretty = durationPretty;
+        //derived from duration
     }
 
     public long getDuration() {
@@ -149,15 +189,106 @@ public class TestCase implements Comparable<TestCase> {
         this.duration = duration;
     }
 
+    public long getDurationNs() {
+        return durationNs;
+    }
+
+    public void setDurationNs(long durationNs) {
+        this.durationNs = durationNs;
+    }
+
+    public long getBeforeEachNs() {
+        return beforeEachNs;
+    }
+
+    public void setBeforeEachNs(long beforeEachNs) {
+        this.beforeEachNs = beforeEachNs;
+    }
+
+    public long getBodyNs() {
+        return bodyNs;
+    }
+
+    public void setBodyNs(long bodyNs) {
+        this.bodyNs = bodyNs;
+    }
+
+    public long getAfterEachNs() {
+        return afterEachNs;
+    }
+
+    public void setAfterEachNs(long afterEachNs) {
+        this.afterEachNs = afterEachNs;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public long getCpuNs() {
+        return cpuNs;
+    }
+
+    public void setCpuNs(long cpuNs) {
+        this.cpuNs = cpuNs;
+    }
+
+    /**
+     * @return cpu time / wall time of the test body [-1 = not measured] - below 1 the test was waiting e.g. for I/O
+     */
+    public double getCpuRatio() {
+        return cpuNs < 0 || bodyNs <= 0 ? -1 : (double) cpuNs / bodyNs;
+    }
+
+    public void setCpuRatio(double cpuRatio) {
+        //derived from cpuNs and bodyNs
+    }
+
+    public long getBaselineMedian() {
+        return baselineMedian;
+    }
+
+    public void setBaselineMedian(long baselineMedian) {
+        this.baselineMedian = baselineMedian;
+    }
+
+    public long getBaselineP90() {
+        return baselineP90;
+    }
+
+    public void setBaselineP90(long baselineP90) {
+        this.baselineP90 = baselineP90;
+    }
+
+    public boolean isRegression() {
+        return regression;
+    }
+
+    public void setRegression(boolean regression) {
+        this.regression = regression;
+    }
+
     public List<String> getBddMsgList() {
         return bddMsgList;
     }
 
+    /**
+     * @param bddMsgList flow messages - the list is shared and copied on the first {@link #addBddMeg(String)}
+     */
     public void setBddMsgList(List<String> bddMsgList) {
-        this.bddMsgList = bddMsgList;
+        this.bddMsgList = bddMsgList == null ? Collections.emptyList() : bddMsgList;
+        this.bddMsgListOwned = false;
     }
 
     public void addBddMeg(final String errorMsg) {
+        if (!bddMsgListOwned) {
+            bddMsgList = new ArrayList<>(bddMsgList);
+            bddMsgListOwned = true;
+        }
         bddMsgList.add(errorMsg);
     }
 
@@ -176,53 +307,75 @@ public class TestCase implements Comparable<TestCase> {
     public void setTimeEnd(long timeEnd) {
         this.timeEnd = timeEnd;
         this.duration = this.timeEnd - this.timeStart;
-        this.durationPretty = toPrettyDuration(duration);
     }
 
     public String getId() {
-        if (id == null) {
-            id = format(
-                    "%s.%s.%s.%s",
-                    pkg,
-                    nameClass,
-                    tags.isEmpty() ? "default" : String.join(".", tags),
-                    nameTest
-            );
-        }
-        return id;
+        return join(idParts());
     }
 
+    /**
+     * The group is derived from class, tags and test name
+     *
+     * @param group ignored
+     */
     public void setGroup(final String group) {
-        this.group = group;
+        //derived
     }
 
     public String getGroup() {
-        if (group == null) {
-            group = tags.isEmpty() ? nameClass : String.join(".", tags) + "." + nameTest;
-        }
-        return group;
+        return join(groupParts());
+    }
+
+    /**
+     * @param value number to format
+     * @return value with two decimal places of the default locale e.g. 1.50
+     */
+    public static String formatDecimal(final double value) {
+        return DECIMAL_FORMAT.get().format(value);
     }
 
     public static String toPrettyDuration(final long duration) {
         return duration < 1000
                 ? duration + "ms"
                 : duration < 60000
-                ? DECIMAL_FORMATTER.format(duration / 60f) + "s"
+                ? formatDecimal(duration / 1000f) + "s"
                 : duration < 3600000
-                ? DECIMAL_FORMATTER.format(duration / 60f / 60f) + "m"
+                ? formatDecimal(duration / 60000f) + "m"
                 : duration < 86400000
-                ? DECIMAL_FORMATTER.format(duration / 60f / 60f / 24f) + "h"
+                ? formatDecimal(duration / 3600000f) + "h"
                 : duration < 604800000
-                ? DECIMAL_FORMATTER.format(duration / 60f / 60f / 24f / 7f) + "d"
-                : DECIMAL_FORMATTER.format(duration / 60f / 60f / 24f / 7f / 30) + "w";
+                ? formatDecimal(duration / 86400000f) + "d"
+                : formatDecimal(duration / 604800000f) + "w";
+    }
+
+    /**
+     * @param bytes size in bytes
+     * @return e.g. 1.50MB
+     */
+    public static String toPrettyBytes(final long bytes) {
+        return bytes < 1024
+                ? bytes + "B"
+                : bytes < 1048576
+                ? formatDecimal(bytes / 1024f) + "KB"
+                : bytes < 1073741824
+                ? formatDecimal(bytes / 1048576f) + "MB"
+                : formatDecimal(bytes / 1073741824f) + "GB";
+    }
+
+    /**
+     * @param nanos duration in nanoseconds
+     * @return e.g. 12.34µs below one millisecond, else {@link #toPrettyDuration(long)}
+     */
+    public static String toPrettyNanos(final long nanos) {
+        return nanos < 1000000 ? formatDecimal(nanos / 1000f) + "µs" : toPrettyDuration(nanos / 1000000);
     }
 
     public String getBddText() {
-        return bddText;
+        return bddText != null ? bddText : String.join("", bddMsgList);
     }
 
     public void setBddText(String bddText) {
-        this.bddText = bddText;
+        this.bddText = bddText == null || bddText.equals(String.join("", bddMsgList)) ? null : bddText;
     }
 
     @Override
@@ -232,29 +385,123 @@ public class TestCase implements Comparable<TestCase> {
 
         TestCase testCase = (TestCase) o;
 
-        return getId() != null ? getId().equals(testCase.getId()) : testCase.getId() == null;
+        return hashCode() == testCase.hashCode() && compare(idParts(), testCase.idParts(), false) == 0;
     }
 
     @Override
     public int hashCode() {
-        return getId() != null ? getId().hashCode() : 0;
+        if (hash == 0) {
+            hash = getId().hashCode();
+        }
+        return hash;
     }
 
     @Override
     public String toString() {
         return "TestCase{" +
-                "id='" + id + '\'' +
+                "id='" + getId() + '\'' +
                 ", timeStart=" + timeStart +
                 ", timeEnd=" + timeEnd +
                 '}';
     }
 
+    /**
+     * Case-insensitive order of {@link #getId()} without building the id strings
+     */
     @Override
     public int compareTo(final TestCase o) {
-        return String.CASE_INSENSITIVE_ORDER.compare(getId(), o.getId());
+        if (Objects.equals(pkg, o.pkg) && Objects.equals(nameClass, o.nameClass) && Objects.equals(tags, o.tags)) {
+            //Same id prefix - pooled values are mostly the same instances
+            return String.CASE_INSENSITIVE_ORDER.compare(String.valueOf(nameTest), String.valueOf(o.nameTest));
+        }
+        return compare(idParts(), o.idParts(), true);
     }
 
     public static Comparator<TestCase> testCaseGroupSorted() {
-        return (o1, o2) -> String.CASE_INSENSITIVE_ORDER.compare(o1.getGroup(), o2.getGroup());
+        return (o1, o2) -> compare(o1.groupParts(), o2.groupParts(), true);
+    }
+
+    private String[] idParts() {
+        final boolean noTags = tags == null || tags.isEmpty();
+        final String[] result = new String[6 + (noTags ? 1 : tags.size() * 2 - 1)];
+        int i = 0;
+        result[i++] = String.valueOf(pkg);
+        result[i++] = ".";
+        result[i++] = String.valueOf(nameClass);
+        result[i++] = ".";
+        i = addTags(result, i, noTags ? Collections.singleton(DEFAULT_TAG) : tags);
+        result[i++] = ".";
+        result[i] = String.valueOf(nameTest);
+        return result;
+    }
+
+    private String[] groupParts() {
+        if (tags == null || tags.isEmpty()) {
+            return new String[]{String.valueOf(nameClass)};
+        }
+        final String[] result = new String[tags.size() * 2 + 1];
+        final int i = addTags(result, 0, tags);
+        result[i] = ".";
+        result[i + 1] = String.valueOf(nameTest);
+        return result;
+    }
+
+    private static int addTags(final String[] target, final int offset, final Set<String> tags) {
+        int i = offset;
+        for (String tag : tags) {
+            if (i != offset) {
+                target[i++] = ".";
+            }
+            target[i++] = tag;
+        }
+        return i;
+    }
+
+    private static String join(final String[] parts) {
+        int length = 0;
+        for (String part : parts) {
+            length += part.length();
+        }
+        final StringBuilder result = new StringBuilder(length);
+        for (String part : parts) {
+            result.append(part);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Compares the concatenated parts char by char like {@link String#CASE_INSENSITIVE_ORDER} or {@link String#compareTo(String)}
+     */
+    private static int compare(final String[] a, final String[] b, final boolean ignoreCase) {
+        int partA = 0;
+        int partB = 0;
+        int posA = 0;
+        int posB = 0;
+        while (true) {
+            while (partA < a.length && posA >= a[partA].length()) {
+                partA++;
+                posA = 0;
+            }
+            while (partB < b.length && posB >= b[partB].length()) {
+                partB++;
+                posB = 0;
+            }
+            if (partA == a.length || partB == b.length) {
+                return (partA == a.length ? 0 : 1) - (partB == b.length ? 0 : 1);
+            }
+            char c1 = a[partA].charAt(posA++);
+            char c2 = b[partB].charAt(posB++);
+            if (c1 != c2 && ignoreCase) {
+                c1 = Character.toUpperCase(c1);
+                c2 = Character.toUpperCase(c2);
+                if (c1 != c2) {
+                    c1 = Character.toLowerCase(c1);
+                    c2 = Character.toLowerCase(c2);
+                }
+            }
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
     }
 }
@@ -1,17 +1,39 @@
 package berlin.yuna.wiserjunit.model;
 
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+/**
+ * Thread safe registry of {@link TestCase}s sorted by {@link TestCase#getId()} (case-insensitive).
+ * Children are the package &rarr; class &rarr; method roll-ups built by {@link Report#calculate()} - they only hold the statistics.
+ * Class nodes additionally hold the {@link ContainerCase} timing of the class.
+ */
 @SuppressWarnings({"unused"})
 public class TestCaseNode implements Comparable<TestCaseNode> {
 
     private String name = "";
-    private Set<TestCase> testCases = new TreeSet<>();
-    private Set<TestCaseNode> children = new TreeSet<>();
+    private final ConcurrentSkipListMap<TestCase, TestCase> testCases = new ConcurrentSkipListMap<>();
+    private final Set<TestCase> testCaseView = new TestCaseSet();
+    private Set<TestCaseNode> children = new ConcurrentSkipListSet<>();
+    private int count;
+    private int failed;
+    private int disabled;
+    private long durationTotal;
+    private long durationMax;
+    private ContainerCase container;
+
+    public TestCaseNode() {
+    }
+
+    public TestCaseNode(final String name) {
+        this.name = name;
+    }
 
     public String getName() {
         return name;
@@ -26,27 +48,105 @@ public class TestCaseNode implements Comparable<TestCaseNode> {
     }
 
     public void setChildren(final Set<TestCaseNode> children) {
-        this.children = new TreeSet<>(children);
+        this.children = new ConcurrentSkipListSet<>(children);
     }
 
     public void addChildNode(final TestCaseNode node) {
         children.add(node);
     }
 
+    /**
+     * Adds the test case to the statistics of this node without storing it
+     *
+     * @param testCase test case to count
+     */
+    public void record(final TestCase testCase) {
+        count++;
+        failed += testCase.isSuccess() ? 0 : 1;
+        disabled += testCase.isDisabled() ? 1 : 0;
+        durationTotal += testCase.getDuration();
+        durationMax = Math.max(durationMax, testCase.getDuration());
+    }
+
+    public void resetStats() {
+        count = 0;
+        failed = 0;
+        disabled = 0;
+        durationTotal = 0;
+        durationMax = 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(final int count) {
+        this.count = count;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(final int failed) {
+        this.failed = failed;
+    }
+
+    public int getDisabled() {
+        return disabled;
+    }
+
+    public void setDisabled(final int disabled) {
+        this.disabled = disabled;
+    }
+
+    public long getDurationTotal() {
+        return durationTotal;
+    }
+
+    public void setDurationTotal(final long durationTotal) {
+        this.durationTotal = durationTotal;
+    }
+
+    public long getDurationMax() {
+        return durationMax;
+    }
+
+    public void setDurationMax(final long durationMax) {
+        this.durationMax = durationMax;
+    }
+
+    public ContainerCase getContainer() {
+        return container;
+    }
+
+    public void setContainer(final ContainerCase container) {
+        this.container = container;
+    }
+
+    public float getFailureRate() {
+        return (failed * 100f) / Math.max(count, 1);
+    }
+
+    /**
+     * Adds or replaces the test case with the same {@link TestCase#getId()}
+     *
+     * @param testCase test case to add
+     */
     public void add(final TestCase testCase) {
-        testCases.add(testCase);
+        testCases.put(testCase, testCase);
     }
 
     public boolean remove(final TestCase testCase) {
-        return testCases.remove(testCase);
+        return testCases.remove(testCase) != null;
     }
 
     public Stream<TestCase> stream() {
-        return testCases.stream();
+        return testCases.values().stream();
     }
 
     public void forEach(final Consumer<TestCase> action) {
-        testCases.forEach(action);
+        testCases.values().forEach(action);
     }
 
     public int size() {
@@ -54,11 +154,12 @@ public class TestCaseNode implements Comparable<TestCaseNode> {
     }
 
     public Set<TestCase> getTestCases() {
-        return testCases;
+        return testCaseView;
     }
 
     public void setTestCases(final Set<TestCase> testCases) {
-        this.testCases = new TreeSet<>(testCases);
+        this.testCases.clear();
+        testCases.forEach(this::add);
     }
 
     @Override
@@ -89,4 +190,32 @@ public class TestCaseNode implements Comparable<TestCaseNode> {
     public int compareTo(final TestCaseNode o) {
         return String.CASE_INSENSITIVE_ORDER.compare(name, o.name);
     }
+
+    private class TestCaseSet extends AbstractSet<TestCase> {
+
+        @Override
+        public Iterator<TestCase> iterator() {
+            return testCases.values().iterator();
+        }
+
+        @Override
+        public int size() {
+            return testCases.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return o instanceof TestCase && testCases.containsKey(o);
+        }
+
+        @Override
+        public boolean add(final TestCase testCase) {
+            return testCases.put(testCase, testCase) == null;
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return o instanceof TestCase && TestCaseNode.this.remove((TestCase) o);
+        }
+    }
 }
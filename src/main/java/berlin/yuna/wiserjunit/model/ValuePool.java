@@ -0,0 +1,48 @@
+package berlin.yuna.wiserjunit.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Run wide dictionary for the repeating values of {@link TestCase}s like package, class and tag names.
+ * Equal values are shared by all test cases instead of being held once per test case.
+ */
+public class ValuePool {
+
+    private static final Map<String, String> STRINGS = new ConcurrentHashMap<>();
+    private static final Map<Set<String>, Set<String>> TAGS = new ConcurrentHashMap<>();
+
+    private ValuePool() {
+    }
+
+    /**
+     * @param value value to share
+     * @return shared instance of the value (nullable)
+     */
+    public static String of(final String value) {
+        return value == null ? null : STRINGS.computeIfAbsent(value, key -> key);
+    }
+
+    /**
+     * @param tags tags to share
+     * @return shared sorted and unmodifiable instance of the tags (nullable)
+     */
+    public static Set<String> of(final Set<String> tags) {
+        if (tags == null) {
+            return null;
+        }
+        final Set<String> pooled = TAGS.get(tags);
+        if (pooled != null) {
+            return pooled;
+        }
+        //The pooled copy is the key - the caller's set stays mutable and would break the hash of the key
+        final TreeSet<String> result = new TreeSet<>();
+        tags.forEach(tag -> result.add(of(tag)));
+        final Set<String> value = Collections.unmodifiableSet(result);
+        final Set<String> previous = TAGS.putIfAbsent(value, value);
+        return previous == null ? value : previous;
+    }
+}
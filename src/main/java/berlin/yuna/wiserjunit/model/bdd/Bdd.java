@@ -21,6 +21,7 @@ import static berlin.yuna.wiserjunit.model.bdd.BddCore.handleHamcrestMatcher;
 import static berlin.yuna.wiserjunit.model.bdd.BddCore.handleUnchecked;
 import static berlin.yuna.wiserjunit.model.bdd.BddCore.renderException;
 import static java.lang.System.lineSeparator;
+import static java.lang.System.nanoTime;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
@@ -34,6 +35,9 @@ public class Bdd<T> {
     protected final String message;
     protected final Bdd<?> parentTask;
     protected final BddType type;
+    //Nano time of the step execution [-1 = step without execution e.g. a plain variable]
+    protected final long startNs;
+    protected long endNs;
 
     public enum BddType {
         SUMMARY,
@@ -47,13 +51,39 @@ public class Bdd<T> {
         MATCH,
     }
 
-    @SuppressWarnings("uncheckedCast")
     protected Bdd(final Bdd<?> parentTask, final BddType type, final String message, final T input) {
+        this(parentTask, type, message, input, -1);
+    }
+
+    @SuppressWarnings("uncheckedCast")
+    protected Bdd(final Bdd<?> parentTask, final BddType type, final String message, final T input, final long startNs) {
         this.type = type;
         this.input = input;
         this.message = message;
         this.parentTask = parentTask;
+        this.startNs = startNs;
         handleHamcrest(input);
+        this.endNs = startNs < 0 ? -1 : nanoTime();
+    }
+
+    /**
+     * @return execution time of the step in nanoseconds [-1 = step without execution]
+     */
+    public long getDurationNs() {
+        return startNs < 0 || endNs < 0 ? -1 : endNs - startNs;
+    }
+
+    /**
+     * Marks the step as successfully executed and records it for the report {@link BddRecorder}
+     *
+     * @return this step
+     */
+    protected Bdd<T> finish() {
+        if (startNs > -1) {
+            endNs = nanoTime();
+        }
+        BddRecorder.record(this);
+        return this;
     }
 
     //BASE ADOPTED VARIABLE
@@ -106,7 +136,7 @@ public class Bdd<T> {
     }
 
     protected <E> Bdd<E> bddVariable(final BddType type, final String message, final E variable) {
-        return new Bdd<>(this, type, message, variable);
+        return new Bdd<E>(this, type, message, variable).finish();
     }
 
     //BASE ADOPTED FUNCTIONS
@@ -313,7 +343,8 @@ public class Bdd<T> {
                 this,
                 MATCH,
                 "Should throw [" + expected.getSimpleName() + "]" + (message != null ? " with [" + message + "]" : ""),
-                expected
+                expected,
+                nanoTime()
         );
         try {
             assertThrows(expected, executable, message);
@@ -322,7 +353,7 @@ public class Bdd<T> {
         } catch (Error e) {
             throw handleUnchecked(null, e, exception -> renderException(result, exception));
         }
-        return result;
+        return result.finish();
     }
 
     /**
@@ -338,24 +369,26 @@ public class Bdd<T> {
 
     //BASE MATCHERS
     protected Bdd<T> bddHamcrest(final String message, final Iterable<Matcher<?>> matchers) {
-        final Bdd<T> result = new Bdd<>(this, MATCH, message, input);
-        return handleHamcrestMatcher(result, matchers, input);
+        final Bdd<T> result = new Bdd<>(this, MATCH, message, input, nanoTime());
+        return handleHamcrestMatcher(result, matchers, input).finish();
     }
 
     protected Bdd<T> bddConsumer(final BddType type, final String message, final Iterable<UncheckedConsumer<T>> consumers) {
-        final Bdd<T> result = new Bdd<>(this, type, message, input);
-        consumers.forEach(consumer -> consumer.accept(input, e -> renderException(new Bdd<>(result, type, message, null), e)));
-        return result;
+        final Bdd<T> result = new Bdd<>(this, type, message, input, nanoTime());
+        consumers.forEach(consumer -> consumer.accept(input, e -> renderException(new Bdd<>(result, type, message, null, result.startNs), e)));
+        return result.finish();
     }
 
 
     protected <F> Bdd<F> bddFunction(final BddType type, final String message, final UncheckedFunction<T, F> function) {
+        final long start = nanoTime();
         return new Bdd<>(
                 this,
                 type,
                 message,
-                function.apply(input, e -> renderException(new Bdd<>(this, type, message, null), e))
-        );
+                function.apply(input, e -> renderException(new Bdd<>(this, type, message, null, start), e)),
+                start
+        ).finish();
     }
 
     private void handleHamcrest(final T input) {
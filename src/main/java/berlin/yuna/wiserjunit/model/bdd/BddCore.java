@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 
+import static berlin.yuna.wiserjunit.model.TestCase.toPrettyNanos;
 import static berlin.yuna.wiserjunit.model.bdd.Bdd.BddType.AND;
 import static berlin.yuna.wiserjunit.model.bdd.Bdd.BddType.BUT;
 import static berlin.yuna.wiserjunit.model.bdd.Bdd.BddType.FEATURE;
@@ -21,6 +22,7 @@ import static berlin.yuna.wiserjunit.model.bdd.Bdd.BddType.WHERE;
 import static java.lang.Character.toChars;
 import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
+import static java.lang.System.nanoTime;
 
 @SuppressWarnings("unused")
 public class BddCore {
@@ -50,7 +52,7 @@ public class BddCore {
     }
 
     public static <E> Bdd<E> given(final String message, final UncheckedSupplier<E> supplier) {
-        return bddSupplier(GIVEN, null, supplier);
+        return bddSupplier(GIVEN, message, supplier);
     }
 
     private static <E> Bdd<E> and(final E variable) {
@@ -66,7 +68,7 @@ public class BddCore {
     }
 
     public static <E> Bdd<E> and(final String message, final UncheckedSupplier<E> supplier) {
-        return bddSupplier(AND, null, supplier);
+        return bddSupplier(AND, message, supplier);
     }
 
     public static <E> Bdd<E> but(final E variable) {
@@ -82,7 +84,7 @@ public class BddCore {
     }
 
     public static <E> Bdd<E> but(final String message, final UncheckedSupplier<E> supplier) {
-        return bddSupplier(BUT, null, supplier);
+        return bddSupplier(BUT, message, supplier);
     }
 
     public static <E> Bdd<E> when(final E variable) {
@@ -98,7 +100,7 @@ public class BddCore {
     }
 
     public static <E> Bdd<E> when(final String message, final UncheckedSupplier<E> supplier) {
-        return bddSupplier(WHEN, null, supplier);
+        return bddSupplier(WHEN, message, supplier);
     }
 
     public static <E> Bdd<E> then(final E variable) {
@@ -114,7 +116,7 @@ public class BddCore {
     }
 
     public static <E> Bdd<E> then(final String message, final UncheckedSupplier<E> supplier) {
-        return bddSupplier(THEN, null, supplier);
+        return bddSupplier(THEN, message, supplier);
     }
 
     public static <E> Bdd<E> where(final E variable) {
@@ -130,7 +132,7 @@ public class BddCore {
     }
 
     public static <E> Bdd<E> where(final String message, final UncheckedSupplier<E> supplier) {
-        return bddSupplier(WHERE, null, supplier);
+        return bddSupplier(WHERE, message, supplier);
     }
 
     public static BddException renderException(final Bdd<?> bdd, final Throwable throwable) {
@@ -160,20 +162,26 @@ public class BddCore {
     }
 
     protected static <E> Bdd<E> bdd(final Bdd.BddType type, final String message, final E variable) {
-        return new Bdd<>(null, type, message, variable);
+        return new Bdd<E>(null, type, message, variable).finish();
     }
 
     protected static <F> Bdd<F> bddSupplier(final Bdd.BddType type, final String message, final UncheckedSupplier<F> function) {
+        final long start = nanoTime();
         return new Bdd<>(
                 null,
                 type,
                 message,
-                function.get(e -> renderException(new Bdd<>(null, type, message, null), e))
-        );
+                function.get(e -> renderException(new Bdd<>(null, type, message, null, start), e)),
+                start
+        ).finish();
     }
 
+    /**
+     * @return formatted step with its execution time e.g. {@code ✅ WHEN  : message [1.20ms]}
+     */
     protected static String formatBdd(final int emoji, final Bdd<?> bdd) {
-        return formatBdd(emoji, bdd.type.toString(), bdd.message);
+        final long durationNs = bdd.getDurationNs();
+        return formatBdd(emoji, bdd.type.toString(), bdd.message) + (durationNs < 0 ? "" : " [" + toPrettyNanos(durationNs) + "]");
     }
 
     public static String formatBdd(final int emoji, final String type, final String message) {
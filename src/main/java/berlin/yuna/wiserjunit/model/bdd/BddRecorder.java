@@ -0,0 +1,41 @@
+package berlin.yuna.wiserjunit.model.bdd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static berlin.yuna.wiserjunit.model.bdd.BddCore.formatBdd;
+import static java.lang.System.lineSeparator;
+
+/**
+ * Thread local recorder of the executed {@link Bdd} steps of the current test including their execution time.
+ * Failed steps are not recorded - the {@link berlin.yuna.wiserjunit.model.exception.BddException} holds the flow of a failed test.
+ * Steps are only recorded between {@link #start()} and {@link #stop()} - e.g. while the report extension runs the test.
+ */
+public class BddRecorder {
+
+    private static final ThreadLocal<List<String>> STEPS = new ThreadLocal<>();
+
+    private BddRecorder() {
+    }
+
+    public static void start() {
+        STEPS.set(new ArrayList<>());
+    }
+
+    /**
+     * @return formatted steps in order of execution since {@link #start()}
+     */
+    public static List<String> stop() {
+        final List<String> result = STEPS.get();
+        STEPS.remove();
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    static void record(final Bdd<?> bdd) {
+        final List<String> steps = STEPS.get();
+        if (steps != null) {
+            steps.add(formatBdd(0x2705, bdd) + lineSeparator());
+        }
+    }
+}
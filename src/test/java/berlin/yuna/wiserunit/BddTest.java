@@ -2,6 +2,7 @@ package berlin.yuna.wiserunit;
 
 import berlin.yuna.wiserjunit.model.annotation.WiserJunitReport;
 import berlin.yuna.wiserjunit.model.bdd.Bdd;
+import berlin.yuna.wiserjunit.model.bdd.BddRecorder;
 import berlin.yuna.wiserjunit.model.exception.BddException;
 import org.hamcrest.Matcher;
 import org.junit.jupiter.api.AfterAll;
@@ -12,6 +13,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.regex.Pattern;
 import java.util.stream.LongStream;
 
 import static berlin.yuna.wiserjunit.model.bdd.BddCore.feature;
@@ -19,6 +22,7 @@ import static berlin.yuna.wiserjunit.model.bdd.BddCore.given;
 import static berlin.yuna.wiserjunit.model.bdd.BddCore.where;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -156,6 +160,25 @@ class BddTest {
                 .end();
     }
 
+    @Test
+    void end_shouldContainStepDurations() {
+        final String flow = given("Supplied value", () -> 1).when("Increment", value -> value + 1).end();
+        final String duration = " \\[(\\d+[.,]\\d{2}µs|\\d+ms|\\d+[.,]\\d{2}[smhdw])]";
+        assertThat(flow, Pattern.compile("GIVEN: Supplied value" + duration).matcher(flow).find(), is(true));
+        assertThat(flow, Pattern.compile("WHEN : Increment" + duration).matcher(flow).find(), is(true));
+    }
+
+    @Test
+    void recorder_shouldOnlyRecordExecutedSteps() {
+        BddRecorder.start();
+        assertThrows(BddException.class, () -> given("Supplied value", () -> 1).when("Fail", value -> {
+            throw new RuntimeException("expected");
+        }));
+        final List<String> steps = BddRecorder.stop();
+        assertThat(steps, hasSize(1));
+        assertThat(steps.get(0), containsString("GIVEN: Supplied value"));
+    }
+
     @Test
     void willThrow() {
         assertThrows(BddException.class, () -> feature("Test BDD exception")
@@ -0,0 +1,33 @@
+package berlin.yuna.wiserunit.logic;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static berlin.yuna.wiserjunit.logic.FileUtils.readLine;
+import static java.lang.System.lineSeparator;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class FileUtilsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readLine_shouldReadLinesAroundThreshold() throws IOException {
+        final Path file = Files.write(tempDir.resolve("Lines.java"), "one\ntwo\r\nthree\rfour\nfünf".getBytes(StandardCharsets.UTF_8));
+        assertThat(readLine(file, 1, 1), is(Optional.of("one")));
+        assertThat(readLine(file, 3, 3), is(Optional.of("two" + lineSeparator() + "three" + lineSeparator() + "four")));
+        assertThat(readLine(file, 5, 1), is(Optional.of("fünf")));
+        assertThat(readLine(file, 99, 1), is(Optional.of("")));
+        assertThat(readLine(tempDir.resolve("Missing.java"), 1, 1), is(Optional.empty()));
+    }
+}
@@ -0,0 +1,106 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.FlowIndexProcessor;
+import berlin.yuna.wiserjunit.model.FlowIndex;
+import berlin.yuna.wiserjunit.model.annotation.WiserJunitReport;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+import static berlin.yuna.wiserjunit.model.bdd.BddCore.formatBdd;
+import static java.lang.System.lineSeparator;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class FlowIndexProcessorTest {
+
+    private static final String SOURCE = String.join("\n",
+            "package my.pkg;",
+            "",
+            "import berlin.yuna.wiserjunit.model.annotation.WiserJunitReport;",
+            "",
+            "public class MyTest {",
+            "",
+            "    void notAnnotated() {",
+            "        given(\"outside\");",
+            "    }",
+            "",
+            "    @WiserJunitReport",
+            "    static class Nested {",
+            "        void myFlow() {",
+            "            given(\"Value is set\");",
+            "            then(\"Result\");",
+            "        }",
+            "    }",
+            "",
+            "    static void given(final String message) {",
+            "    }",
+            "",
+            "    static void then(final String message) {",
+            "    }",
+            "}");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void process_shouldWriteFlowsAndLineIndexOfOutermostClass() throws IOException, URISyntaxException {
+        final Path sourceFile = tempDir.resolve("src/my/pkg/MyTest.java");
+        final Path output = tempDir.resolve("classes");
+        Files.createDirectories(sourceFile.getParent());
+        Files.createDirectories(output);
+        Files.write(sourceFile, SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            //Collects warnings like missing apiguardian annotations of the junit api
+            final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-proc:only", "-d", output.toString(), "-classpath", classPath(WiserJunitReport.class, ExtendWith.class)),
+                    null, fileManager.getJavaFileObjects(sourceFile.toFile()));
+            task.setProcessors(List.of(new FlowIndexProcessor()));
+            final boolean success = task.call();
+            assertThat(diagnostics.getDiagnostics().toString(), success, is(true));
+        }
+
+        final Path resource = output.resolve(FlowIndex.resourceName("my.pkg.MyTest"));
+        assertThat(Files.exists(resource), is(true));
+        final FlowIndex index = MAPPER_JSON.readValue(resource.toFile(), FlowIndex.class);
+        assertThat(index.getSource(), is("MyTest.java"));
+        assertThat(index.getFlows().get("myflow"), contains(bdd("GIVEN", "Value is set"), bdd("THEN", "Result")));
+        assertThat(index.getFlows().get("notannotated"), contains(bdd("GIVEN", "outside")));
+        assertThat(index.getLines().get(14), is("            given(\"Value is set\");"));
+        assertThat(index.getLines().containsKey(11), is(false));
+        assertThat(index.readLines(15, 1).orElse(""), is("            then(\"Result\");"));
+    }
+
+    private static String classPath(final Class<?>... classes) throws URISyntaxException {
+        final StringBuilder result = new StringBuilder();
+        for (Class<?> type : classes) {
+            result.append(Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI())).append(File.pathSeparator);
+        }
+        return result.toString();
+    }
+
+    private static String bdd(final String type, final String message) {
+        return formatBdd(0x2705, type, message) + lineSeparator();
+    }
+}
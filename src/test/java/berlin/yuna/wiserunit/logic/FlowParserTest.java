@@ -0,0 +1,76 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.FlowParser;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static berlin.yuna.wiserjunit.model.bdd.BddCore.formatBdd;
+import static java.lang.System.lineSeparator;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class FlowParserTest {
+
+    private static final String JAVA_SOURCE = String.join("\n",
+            "class MyTest {",
+            "    @ParameterizedTest",
+            "    @ValueSource(strings = {\"a\", \"b\"})",
+            "    <T> void parameterized(final String value, final Map<String, List<T>> map) throws Exception {",
+            "        // given(\"commented\", value)",
+            "        /* when(\"commented\", value) */",
+            "        final char brace = '{';",
+            "        given(\"Value is \\\"set\\\"\", value)",
+            "            .when(\"Call with (brackets)\", v -> { return v; })",
+            "            .willThrow(\"expected\", RuntimeException.class, () -> { throw new RuntimeException(); });",
+            "        if (value != null) {",
+            "            new Runnable() { public void run() { then(\"inside anonymous class\", value); } };",
+            "        }",
+            "    }",
+            "",
+            "    @Test",
+            "    void textBlock() {",
+            "        feature(\"\"\"",
+            "            Multi line }",
+            "            \"\"\");",
+            "    }",
+            "}");
+
+    @Test
+    void parseFlows_shouldHandleParametersCommentsAndStrings() {
+        final Map<String, List<String>> flows = FlowParser.parseFlows(JAVA_SOURCE, false);
+        assertThat(flows.get("parameterized"), contains(
+                bdd("GIVEN", "Value is \\\"set\\\""),
+                bdd("WHEN", "Call with (brackets)"),
+                bdd("MATCH", "expected"),
+                bdd("THEN", "inside anonymous class")
+        ));
+        assertThat(flows.get("textblock"), contains(bdd("FEATURE", "Multi line }")));
+        assertThat(flows.containsKey("run"), is(false));
+    }
+
+    @Test
+    void parseFlows_shouldSupportGroovyStrings() {
+        final Map<String, List<String>> flows = FlowParser.parseFlows(String.join("\n",
+                "class MySpec {",
+                "    def 'my feature'() {",
+                "        given('single quoted', 1)",
+                "    }",
+                "    def other() {",
+                "        list.each() { when('inside closure', it) }",
+                "    }",
+                "}"), true);
+        assertThat(flows.get("my feature"), contains(bdd("GIVEN", "single quoted")));
+        assertThat(flows.get("other"), contains(bdd("WHEN", "inside closure")));
+        assertThat(FlowParser.parseFlows("", true).values(), is(empty()));
+    }
+
+    private static String bdd(final String type, final String message) {
+        return formatBdd(0x2705, type, message) + lineSeparator();
+    }
+}
@@ -0,0 +1,52 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.LineIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static java.lang.System.lineSeparator;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class LineIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readLines_shouldSupportAllLineEnds() throws IOException {
+        final Path file = write("one\ntwo\r\nthree\rfour");
+        final LineIndex index = LineIndex.of(file).orElseThrow();
+        assertThat(index.lineCount(), is(4));
+        assertThat(index.readLines(2, 3), is(Optional.of(String.join(lineSeparator(), "one", "two", "three"))));
+        assertThat(index.readLines(4, 1), is(Optional.of("four")));
+        assertThat(LineIndex.of(write("")).orElseThrow().lineCount(), is(0));
+        assertThat(LineIndex.of(write("last\r")).orElseThrow().lineCount(), is(1));
+    }
+
+    @Test
+    void readLines_shouldHandleLineEndsAcrossReadBuffers() throws IOException {
+        //\r\n split between two 8192 byte reads
+        final String first = "x".repeat(8191);
+        final LineIndex index = LineIndex.of(write(first + "\r\nsecond\r\rfourth\n")).orElseThrow();
+        assertThat(index.lineCount(), is(4));
+        assertThat(index.readLines(2, 1), is(Optional.of("second")));
+        assertThat(index.readLines(3, 1), is(Optional.of("")));
+        assertThat(index.readLines(4, 1), is(Optional.of("fourth")));
+        assertThat(index.readLines(1, 1), is(Optional.of(first)));
+    }
+
+    private Path write(final String content) throws IOException {
+        final Path file = Files.createTempFile(tempDir, "source", ".java");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,98 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.RegressionDetector;
+import berlin.yuna.wiserjunit.logic.ReportHistory;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.exception.WiserExtensionException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.TreeSet;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("UnitTest")
+class RegressionDetectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void check_shouldFlagDurationsAboveBaseline() {
+        final ReportHistory history = history(1000, 120, 110, 90, 105);
+        final RegressionDetector detector = new RegressionDetector(history, 4, 1.5, 50);
+
+        final TestCase slow = testCase(200);
+        assertThat(detector.check(slow), is(true));
+        assertThat(slow.isRegression(), is(true));
+        assertThat(slow.getBaselineMedian(), is(105L));
+        assertThat(slow.getBaselineP90(), is(120L));
+        assertThat(detector.check(testCase(140)), is(false));
+        assertThat(new RegressionDetector(history, 4, 1.5, 100).check(testCase(170)), is(false));
+        assertThat(new RegressionDetector(history, 0, 1.5, 50).check(testCase(5000)), is(false));
+        assertThat(RegressionDetector.percentile(new long[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, 90), is(9L));
+    }
+
+    @Test
+    void check_shouldExcludeTheCurrentRunStoredByAnotherFork() {
+        //Run 5 is the current run
+        final ReportHistory history = history(100, 110, 90, 105, 400);
+        final TestCase testCase = testCase(400);
+        assertThat(new RegressionDetector(history, () -> "5", 4, 1.5, 50, false).check(testCase), is(true));
+        assertThat(testCase.getBaselineMedian(), is(100L));
+        assertThat(testCase.getBaselineP90(), is(110L));
+        assertThat(new RegressionDetector(history, () -> "6", 4, 1.5, 50, false).check(testCase(400)), is(false));
+    }
+
+    @Test
+    void verify_shouldFailRegressionsWhenEnabled() {
+        final ReportHistory history = history(100, 110, 90, 105);
+        final TestCase slow = testCase(400);
+        final WiserExtensionException error = assertThrows(WiserExtensionException.class, () -> new RegressionDetector(history, () -> null, 4, 1.5, 50, true).verify(slow));
+        assertThat(error.getMessage(), is("Performance regression [400ms] median [100ms] p90 [110ms]"));
+        assertThat(slow.isFailed(), is(true));
+        assertThat(slow.getErrorType(), is("PerformanceRegression"));
+        assertThat(slow.getErrorMsg(), is(error.getMessage()));
+
+        final TestCase fast = testCase(100);
+        new RegressionDetector(history, () -> null, 4, 1.5, 50, true).verify(fast);
+        assertThat(fast.isSuccess(), is(true));
+
+        final TestCase reported = testCase(400);
+        new RegressionDetector(history, () -> null, 4, 1.5, 50, false).verify(reported);
+        assertThat(reported.isRegression(), is(true));
+        assertThat(reported.isSuccess(), is(true));
+    }
+
+    private ReportHistory history(final long... durations) {
+        final ReportHistory history = ReportHistory.of(tempDir, MAPPER_JSON);
+        for (int run = 0; run < durations.length; run++) {
+            final Report report = new Report();
+            report.add(testCase(run + 1L, durations[run]));
+            history.append(report.calculate(), run + 1L, 20, 0);
+        }
+        return history;
+    }
+
+    private static TestCase testCase(final long duration) {
+        return testCase(0, duration);
+    }
+
+    private static TestCase testCase(final long start, final long duration) {
+        final TestCase testCase = new TestCase();
+        testCase.setPkg("berlin.yuna");
+        testCase.setNameClass("Class");
+        testCase.setNameTest("test");
+        testCase.setTags(new TreeSet<>());
+        testCase.setDisabled(false);
+        testCase.setTimeStart(start);
+        testCase.setTimeEnd(start + duration);
+        return testCase;
+    }
+}
@@ -0,0 +1,128 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.logic.ReportAccumulator;
+import berlin.yuna.wiserjunit.model.ContainerCase;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class ReportAccumulatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void close_shouldFlushJournalsAndReopenOnNextAppend() throws IOException {
+        final WiserJunitConfig config = new WiserJunitConfig();
+        config.setOutputDir(tempDir.toString());
+        final ReportAccumulator accumulator = new ReportAccumulator(config);
+
+        accumulator.add(testCase("test1"));
+        final ContainerCase container = new ContainerCase();
+        container.setPkg("berlin.yuna");
+        container.setNameClass("Class1");
+        accumulator.addContainer(container);
+        accumulator.close();
+        accumulator.close();
+        assertThat(Files.readAllLines(config.getOutputJournalRaw()).size(), is(1));
+        assertThat(Files.readAllLines(config.getOutputContainerJournalRaw()).size(), is(1));
+
+        accumulator.add(testCase("test2"));
+        accumulator.close();
+        assertThat(Files.readAllLines(config.getOutputJournalRaw()).size(), is(2));
+        assertThat(accumulator.merge(config.getOutputJsonRaw()).size(), is(2));
+    }
+
+    @Test
+    void merge_shouldFoldJournalsOfOtherJvmsByLastTimeEnd() throws IOException {
+        final WiserJunitConfig config = new WiserJunitConfig();
+        config.setOutputDir(tempDir.toString());
+        final ReportAccumulator accumulator = new ReportAccumulator(config);
+        accumulator.add(testCase("test1", 100, true));
+        accumulator.add(testCase("test2", 100, true));
+        accumulator.addContainer(container(100, 10));
+        accumulator.close();
+
+        final Path otherJournal = tempDir.resolve("report-" + Long.MAX_VALUE + ".jsonl");
+        Files.write(otherJournal, (MAPPER_JSON.writeValueAsString(testCase("test1", 50, false)) + "\n"
+                + MAPPER_JSON.writeValueAsString(testCase("test2", 200, false)) + "\n"
+                + MAPPER_JSON.writeValueAsString(testCase("test3", 300, true)) + "\n"
+                //Torn last line of a JVM which is still writing or got killed
+                + "{\"pkg\":\"berlin.yuna\",\"nameClass\":\"Cla").getBytes(StandardCharsets.UTF_8));
+        Files.write(tempDir.resolve("containers-" + Long.MAX_VALUE + ".jsonl"), (MAPPER_JSON.writeValueAsString(container(200, 20)) + "\n{\"pkg").getBytes(StandardCharsets.UTF_8));
+
+        final Report result = accumulator.merge(config.getOutputJsonRaw());
+        assertThat(result.size(), is(3));
+        assertThat(find(result, "test1").isSuccess(), is(true));
+        assertThat(find(result, "test1").getTimeEnd(), is(100L));
+        assertThat(find(result, "test2").isSuccess(), is(false));
+        assertThat(find(result, "test2").getTimeEnd(), is(200L));
+        assertThat(find(result, "test3").getTimeEnd(), is(300L));
+        assertThat(result.getContainers().size(), is(1));
+        assertThat(result.getContainers().iterator().next().getBeforeAllNs(), is(20L));
+    }
+
+    @Test
+    void deletePrevious_shouldKeepJournalsOfRunningJvms() throws IOException {
+        final WiserJunitConfig config = new WiserJunitConfig();
+        config.setOutputDir(tempDir.toString());
+        final long running = ProcessHandle.current().parent().map(ProcessHandle::pid).orElseThrow();
+        final List<Path> journals = new ArrayList<>();
+        for (String prefix : new String[]{"report-", "containers-"}) {
+            for (long pid : new long[]{ProcessHandle.current().pid(), running, Long.MAX_VALUE}) {
+                journals.add(Files.write(tempDir.resolve(prefix + pid + ".jsonl"), new byte[0]));
+            }
+        }
+
+        config.deletePrevious();
+        assertThat(journals.stream().filter(Files::exists).map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList()),
+                is(List.of("containers-" + running + ".jsonl", "report-" + running + ".jsonl")));
+    }
+
+    private static TestCase find(final Report report, final String nameTest) {
+        return report.stream().filter(testCase -> testCase.getNameTest().equals(nameTest)).findFirst().orElseThrow();
+    }
+
+    private static TestCase testCase(final String nameTest, final long timeEnd, final boolean success) {
+        final TestCase testCase = testCase(nameTest);
+        testCase.setTimeStart(0);
+        testCase.setTimeEnd(timeEnd);
+        testCase.setSuccess(success);
+        return testCase;
+    }
+
+    private static ContainerCase container(final long timeEnd, final long beforeAllNs) {
+        final ContainerCase container = new ContainerCase();
+        container.setPkg("berlin.yuna");
+        container.setNameClass("Class1");
+        container.setTimeEnd(timeEnd);
+        container.setBeforeAllNs(beforeAllNs);
+        return container;
+    }
+
+    static TestCase testCase(final String nameTest) {
+        final TestCase testCase = new TestCase();
+        testCase.setPkg("berlin.yuna");
+        testCase.setNameClass("Class1");
+        testCase.setNameTest(nameTest);
+        testCase.setTags(new TreeSet<>());
+        return testCase;
+    }
+}
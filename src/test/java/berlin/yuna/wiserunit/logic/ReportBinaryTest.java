@@ -0,0 +1,163 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.ReportBinary;
+import berlin.yuna.wiserjunit.model.ContainerCase;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.TestCaseNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class ReportBinaryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void generateBinary_shouldRoundTripAllFields() throws Exception {
+        final Report report = new Report();
+        for (int i = 0; i < 300; i++) {
+            final TestCase testCase = new TestCase();
+            testCase.setPkg("berlin.yuna");
+            testCase.setNameClass("Class" + (i % 3));
+            testCase.setNameTest("test" + i);
+            testCase.setNameDisplay("Test " + i + " ü");
+            testCase.setTags(new TreeSet<>(i % 2 == 0 ? Set.of("UnitTest") : Set.of()));
+            testCase.setTimeStart(1_700_000_000_000L + i * 7L);
+            testCase.setTimeEnd(1_700_000_000_000L + i * 9L);
+            testCase.setSuccess(i % 5 != 0);
+            testCase.setDisabled(i % 7 == 0);
+            testCase.setDurationNs(i * 1_000_003L);
+            testCase.setBeforeEachNs(i * 11L);
+            testCase.setBodyNs(i % 3 == 0 ? -1 : i * 1_000_000L);
+            testCase.setAfterEachNs(i % 3 == 0 ? -1 : 7);
+            testCase.setAllocatedBytes(i % 4 == 0 ? -1 : i * 4096L);
+            testCase.setCpuNs(i % 4 == 0 ? -1 : i * 999_983L);
+            if (i % 6 == 1) {
+                testCase.setBaselineMedian(i * 3L);
+                testCase.setBaselineP90(i * 4L);
+                testCase.setRegression(i % 12 == 1);
+            }
+            if (i % 5 == 0) {
+                testCase.setBddMsgList(List.of("given", "then"));
+                testCase.setBddText("\ngiventhen");
+                testCase.setErrorMsg("expected " + i);
+                testCase.setErrorType("AssertionError");
+                testCase.setErrorLine(i);
+            }
+            report.add(testCase);
+        }
+        final ContainerCase container = new ContainerCase();
+        container.setPkg("berlin.yuna");
+        container.setNameClass("Class1");
+        container.setDurationNs(5_000_000);
+        container.setBeforeAllNs(1_000);
+        container.setAfterAllNs(2_000);
+        report.addContainer(container);
+        report.calculate();
+        final Path target = tempDir.resolve("report.bin");
+        ReportBinary.generateBinary(report, target, MAPPER_JSON);
+
+        final Report result = ReportBinary.read(target, MAPPER_JSON);
+        assertThat(result.size(), is(300));
+        assertThat(MAPPER_JSON.writeValueAsString(result.getContainers()), is(MAPPER_JSON.writeValueAsString(report.getContainers())));
+        final ContainerCase node = result.calculate().getTestCases().getChildren().iterator().next().getChildren().stream()
+                .filter(cls -> cls.getName().equals("Class1")).findFirst().map(TestCaseNode::getContainer).orElseThrow();
+        assertThat(node.getBeforeAllNs(), is(1_000L));
+        assertThat(node.getAfterAllNs(), is(2_000L));
+        assertThat(result.getMetaData().getTestCasesFailed(), is(report.getMetaData().getTestCasesFailed()));
+        assertThat(MAPPER_JSON.writeValueAsString(result.getTestCases().getTestCases()), is(MAPPER_JSON.writeValueAsString(report.getTestCases().getTestCases())));
+
+        final Iterator<TestCase> iterator = ReportBinary.iterator(target, MAPPER_JSON);
+        assertThat(iterator.next().getId(), is(report.stream().findFirst().map(TestCase::getId).orElse("")));
+        final TestCase measured = result.stream().filter(testCase -> testCase.getNameTest().equals("test1")).findFirst().orElseThrow();
+        assertThat(measured.getAllocatedBytes(), is(4096L));
+        assertThat(measured.getCpuNs(), is(999_983L));
+        assertThat(measured.getBaselineMedian(), is(3L));
+        assertThat(measured.getBaselineP90(), is(4L));
+        assertThat(measured.isRegression(), is(true));
+        assertThat(result.stream().filter(TestCase::isRegression).count(), is(25L));
+    }
+
+    @Test
+    void read_shouldReadOlderVersions() throws Exception {
+        final Path v1 = tempDir.resolve("v1.bin");
+        final Path v2 = tempDir.resolve("v2.bin");
+        Files.write(v1, binary(1));
+        Files.write(v2, binary(2));
+
+        final TestCase legacy = ReportBinary.read(v1, MAPPER_JSON).stream().findFirst().orElseThrow();
+        assertThat(legacy.getId(), is("p.C.default.t"));
+        assertThat(legacy.getTimeStart(), is(1000L));
+        assertThat(legacy.getDuration(), is(5L));
+        assertThat(legacy.getDurationNs(), is(-1L));
+        assertThat(legacy.getAllocatedBytes(), is(-1L));
+        assertThat(ReportBinary.read(v1, MAPPER_JSON).getContainers().isEmpty(), is(true));
+
+        final TestCase phases = ReportBinary.read(v2, MAPPER_JSON).stream().findFirst().orElseThrow();
+        assertThat(phases.getDurationNs(), is(5000L));
+        assertThat(phases.getBodyNs(), is(-1L));
+        assertThat(phases.getAllocatedBytes(), is(-1L));
+        assertThat(phases.getCpuNs(), is(-1L));
+        assertThat(phases.getBaselineMedian(), is(-1L));
+        assertThat(phases.isRegression(), is(false));
+        assertThat(phases.isSuccess(), is(true));
+    }
+
+    //One test case "p.C.t" in the layout of the given format version
+    private static byte[] binary(final int version) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{'W', 'S', 'R', 'B'});
+        varint(out, version);
+        final byte[] metaData = MAPPER_JSON.writeValueAsBytes(new Report().getMetaData());
+        varint(out, metaData.length);
+        out.write(metaData);
+        varint(out, 1);
+        varint(out, 3);
+        for (String value : new String[]{"p", "C", "t"}) {
+            varint(out, 1);
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        //One empty tag set
+        varint(out, 1);
+        varint(out, 0);
+        final long[] columns = version == 1
+                ? new long[]{1, 2, 3, 0, 0, 0, 0, 0, 0, 0, 0, 2000, 10, 10}
+                : new long[]{1, 2, 3, 0, 0, 0, 0, 0, 0, 0, 0, 2000, 10, 10, 10000, 1, 1, 1};
+        for (long column : columns) {
+            final ByteArrayOutputStream block = new ByteArrayOutputStream();
+            varint(block, column);
+            varint(out, block.size());
+            block.writeTo(out);
+        }
+        varint(out, 1);
+        out.write(1);
+        varint(out, 1);
+        out.write(0);
+        return out.toByteArray();
+    }
+
+    private static void varint(final ByteArrayOutputStream out, final long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.write((int) remaining);
+    }
+}
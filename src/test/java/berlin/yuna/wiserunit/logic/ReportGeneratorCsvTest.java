@@ -0,0 +1,91 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.ReportGeneratorCsv;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static berlin.yuna.wiserunit.logic.ReportGeneratorHtmlTest.testCase;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class ReportGeneratorCsvTest {
+
+    @Test
+    void generateCsv_shouldContainBaselineColumns() throws IOException {
+        final Report report = new Report();
+        final TestCase slow = testCase("berlin.yuna", "Class1", "slow");
+        slow.setDisabled(false);
+        slow.setTimeStart(0);
+        slow.setTimeEnd(400);
+        slow.setBaselineMedian(100);
+        slow.setBaselineP90(110);
+        slow.setRegression(true);
+        report.add(slow);
+        report.add(testCase("berlin.yuna", "Class1", "unknown"));
+
+        final List<Map<String, String>> rows = rows(report.calculate());
+        assertThat(rows.size(), is(2));
+        assertThat(rows.get(0).get("TestName"), is("slow"));
+        assertThat(rows.get(0).get("DurationMs"), is("400"));
+        assertThat(rows.get(0).get("BaselineMedianMs"), is("100"));
+        assertThat(rows.get(0).get("BaselineP90Ms"), is("110"));
+        assertThat(rows.get(0).get("Regression"), is("true"));
+        assertThat(rows.get(1).get("BaselineMedianMs"), is("-1"));
+        assertThat(rows.get(1).get("BaselineP90Ms"), is("-1"));
+        assertThat(rows.get(1).get("Regression"), is("false"));
+    }
+
+    @Test
+    void generateCsv_shouldWriteCpuRatioIndependentOfTheLocale() throws IOException {
+        final Report report = new Report();
+        final TestCase measured = testCase("berlin.yuna", "Class1", "measured");
+        measured.setBodyNs(2);
+        measured.setCpuNs(3);
+        measured.setAllocatedBytes(1536);
+        report.add(measured);
+        report.add(testCase("berlin.yuna", "Class1", "unmeasured"));
+
+        final Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.GERMANY);
+            final List<Map<String, String>> rows = rows(report.calculate());
+            assertThat(rows.get(0).get("TestName"), is("measured"));
+            assertThat(rows.get(0).get("CpuRatio"), is("1.50"));
+            assertThat(rows.get(0).get("CpuNs"), is("3"));
+            assertThat(rows.get(0).get("AllocatedBytes"), is("1536"));
+            assertThat(rows.get(1).get("CpuRatio"), is("-1"));
+            assertThat(rows.get(1).get("AllocatedBytes"), is("-1"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    static List<Map<String, String>> rows(final Report report) throws IOException {
+        final StringWriter csv = new StringWriter();
+        ReportGeneratorCsv.generateCsv(report, csv);
+        final String[] lines = csv.toString().split(System.lineSeparator());
+        final String[] header = lines[0].split(";");
+        final List<Map<String, String>> result = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            final String[] values = lines[i].split(";", -1);
+            assertThat(lines[i], values.length, is(header.length + 1));
+            final Map<String, String> row = new HashMap<>();
+            for (int column = 0; column < header.length; column++) {
+                row.put(header[column], values[column].substring(1, values[column].length() - 1));
+            }
+            result.add(row);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,261 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.logic.NormalizedLineWriter;
+import berlin.yuna.wiserjunit.logic.ReportGeneratorHtml;
+import berlin.yuna.wiserjunit.logic.WiserReportExtension;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+import static berlin.yuna.wiserjunit.model.TestCase.formatDecimal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class ReportGeneratorHtmlTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void normalizedLineWriter_shouldMatchWriteFile() throws IOException {
+        final String content = "<html>\n\n<pre>\r\nflow\r\r\n\n  indented</pre>\n</html>\n\n";
+        final Path expected = tempDir.resolve("expected.html");
+        WiserReportExtension.writeFile(expected, content);
+
+        final StringWriter result = new StringWriter();
+        try (Writer writer = new NormalizedLineWriter(result)) {
+            //Split inside a line break run to check the state between writes
+            writer.append(content, 0, 21);
+            writer.append(content, 21, content.length());
+        }
+        assertThat(result.toString(), is(new String(Files.readAllBytes(expected), StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void generateHtml_shouldNotContainEmptyLines() throws IOException {
+        final WiserJunitConfig config = config(tempDir);
+        final Report report = new Report();
+        final TestCase testCase = testCase("berlin.yuna", "Class1", "test1");
+        testCase.setBddMsgList(new ArrayList<>(List.of("GIVEN: one\n\n", "THEN: two\n")));
+        report.add(testCase);
+        final Path target = tempDir.resolve("report.html");
+        ReportGeneratorHtml.generateHtml(report.calculate(), target, config);
+
+        final String html = new String(Files.readAllBytes(target), StandardCharsets.UTF_8);
+        assertThat(html, containsString("Class1"));
+        assertThat(html, not(containsString(System.lineSeparator() + System.lineSeparator())));
+        assertThat(html.endsWith("</html>" + System.lineSeparator()), is(true));
+    }
+
+    @Test
+    void generateHtml_shouldListRegressions() throws IOException {
+        final WiserJunitConfig config = config(tempDir);
+        final Report report = new Report();
+        final TestCase slow = testCase("berlin.yuna", "Class1", "slow");
+        slow.setDisabled(false);
+        slow.setTimeStart(0);
+        slow.setTimeEnd(400);
+        slow.setBaselineMedian(100);
+        slow.setBaselineP90(110);
+        slow.setRegression(true);
+        report.add(slow);
+        report.add(testCase("berlin.yuna", "Class1", "fast"));
+        final Path target = tempDir.resolve("report.html");
+        ReportGeneratorHtml.generateHtml(report.calculate(), target, config);
+
+        final String html = new String(Files.readAllBytes(target), StandardCharsets.UTF_8);
+        final String nl = System.lineSeparator();
+        assertThat(html, containsString("<th colspan=\"6\">Performance regressions</th>"));
+        assertThat(html, containsString("<td>Class1</td>" + nl + "<td>slow</td>" + nl
+                + "<td class=\"fit\" style=\"color: #db6f6f;\">400ms</td>" + nl
+                + "<td class=\"fit\">100ms</td>" + nl
+                + "<td class=\"fit\">110ms</td>" + nl
+                + "<td class=\"fit\">" + formatDecimal(4) + "x</td>"));
+        assertThat(html, not(containsString("<td>fast</td>" + nl + "<td class=\"fit\" style=\"color: #db6f6f;\">")));
+
+        report.remove(slow);
+        ReportGeneratorHtml.generateHtml(report.calculate(), target, config);
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8), not(containsString("Performance regressions")));
+    }
+
+    @Test
+    void generateHtml_shouldHaveSortValuesInEverySortableColumn() throws IOException {
+        final WiserJunitConfig config = config(tempDir);
+        config.setMeasureResources(true);
+        final Report report = new Report();
+        final TestCase measured = testCase("berlin.yuna", "Class1", "measured");
+        measured.setDisabled(false);
+        measured.setDurationNs(2_000_000);
+        measured.setBodyNs(2_000_000);
+        measured.setCpuNs(1_000_000);
+        measured.setAllocatedBytes(1536);
+        report.add(measured);
+        report.add(testCase("berlin.yuna", "Class1", "unmeasured"));
+        final Path target = tempDir.resolve("report.html");
+        ReportGeneratorHtml.generateHtml(report.calculate(), target, config);
+
+        final String html = new String(Files.readAllBytes(target), StandardCharsets.UTF_8);
+        assertThat(html, containsString("querySelectorAll('#wiser-content th[data-sort]')"));
+        final String table = html.substring(html.indexOf("<table id=\"wiser-content\">"), html.indexOf("</table>", html.indexOf("<table id=\"wiser-content\">")));
+        final String[] rows = table.split("<tr");
+        final List<String> header = cells(rows[1]);
+        final List<Integer> sortable = new ArrayList<>();
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).contains("data-sort")) {
+                sortable.add(i);
+            }
+        }
+        assertThat(sortable, is(List.of(3, 4, 5)));
+        assertThat(rows.length, is(4));
+        for (int row = 2; row < rows.length; row++) {
+            final List<String> cells = cells(rows[row]);
+            assertThat(cells.size(), is(header.size()));
+            for (int column : sortable) {
+                assertThat(cells.get(column), Pattern.compile("data-sort=\"-?\\d+\"").matcher(cells.get(column)).find(), is(true));
+            }
+        }
+        //Disabled rows are listed before the successful ones
+        assertThat(cells(rows[2]).get(5), containsString("data-sort=\"-1\""));
+        assertThat(cells(rows[3]).get(4), containsString("data-sort=\"1536\""));
+        assertThat(cells(rows[3]).get(5), containsString("data-sort=\"1000000\""));
+        assertThat(html, containsString(TestCase.toPrettyBytes(1536)));
+    }
+
+    private static List<String> cells(final String row) {
+        final List<String> result = new ArrayList<>();
+        final Matcher cell = Pattern.compile("<t[hd]([^>]*)>").matcher(row);
+        while (cell.find()) {
+            result.add(cell.group(1));
+        }
+        return result;
+    }
+
+    @Test
+    void generateHtmlChunked_shouldSplitPackagesIntoChunksAndDeleteOldChunks() throws IOException {
+        final WiserJunitConfig config = config(tempDir);
+        config.setHtmlMode(ReportGeneratorHtml.HtmlMode.CHUNKED);
+        final Path dataDir = config.getOutputHtmlDataRaw();
+        Files.createDirectories(dataDir);
+        Files.write(dataDir.resolve("chunk-0.js"), "stale".getBytes(StandardCharsets.UTF_8));
+        Files.write(dataDir.resolve("chunk-9.js"), "stale".getBytes(StandardCharsets.UTF_8));
+
+        final Report report = new Report();
+        for (int i = 0; i < 5001; i++) {
+            final TestCase testCase = testCase("a.pkg", "Class" + (i % 7), "test" + i);
+            testCase.setDisabled(false);
+            if (i == 4321) {
+                testCase.setSuccess(false);
+                testCase.setErrorType("AssertionError");
+            }
+            report.add(testCase);
+        }
+        report.add(testCase("b.pkg", "Other", "disabled"));
+        final Path target = tempDir.resolve("report.html");
+        ReportGeneratorHtml.generateHtml(report.calculate(), target, config);
+
+        try (Stream<Path> files = Files.list(dataDir)) {
+            assertThat(files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList()), is(List.of("chunk-0.js", "chunk-1.js", "chunk-2.js")));
+        }
+        final String html = new String(Files.readAllBytes(target), StandardCharsets.UTF_8);
+        final Matcher index = Pattern.compile("var WISER_PACKAGES = (.*);").matcher(html);
+        assertThat(index.find(), is(true));
+        final JsonNode packages = MAPPER_JSON.readTree(index.group(1));
+        assertThat(packages.size(), is(2));
+        assertThat(packages.get(0).get("name").asText(), is("a.pkg"));
+        assertThat(packages.get(0).get("count").asInt(), is(5001));
+        assertThat(packages.get(0).get("failed").asInt(), is(1));
+        assertThat(packages.get(0).get("chunks").toString(), is("[\"chunk-0\",\"chunk-1\"]"));
+        assertThat(packages.get(1).get("disabled").asInt(), is(1));
+        assertThat(packages.get(1).get("chunks").toString(), is("[\"chunk-2\"]"));
+
+        final JsonNode first = readChunk(dataDir, "chunk-0");
+        assertThat(first.size(), is(5000));
+        assertThat(first.get(0).get(0).asText(), is("failed"));
+        assertThat(first.get(0).get(2).asText(), is("test4321"));
+        assertThat(first.get(1).get(0).asText(), is("success"));
+        assertThat(readChunk(dataDir, "chunk-1").size(), is(1));
+        assertThat(readChunk(dataDir, "chunk-2").get(0).get(0).asText(), is("disabled"));
+    }
+
+    @Test
+    void generateHtmlChunked_shouldPointSearchRowsToTheirChunkEntry() throws IOException {
+        final WiserJunitConfig config = config(tempDir);
+        config.setHtmlMode(ReportGeneratorHtml.HtmlMode.CHUNKED);
+        final Report report = new Report();
+        for (int i = 0; i < 5001; i++) {
+            final TestCase testCase = testCase("a.pkg", "Class" + (i % 7), "test" + i);
+            testCase.setDisabled(false);
+            report.add(testCase);
+        }
+        report.add(testCase("b.pkg", "Other", "disabled"));
+        final Path target = tempDir.resolve("report.html");
+        ReportGeneratorHtml.generateHtml(report.calculate(), target, config);
+
+        //Same lookup as the search box: chunk 'chunk-' + floor(row / WISER_CHUNK_SIZE) at entry row % WISER_CHUNK_SIZE
+        final String html = new String(Files.readAllBytes(target), StandardCharsets.UTF_8);
+        assertThat(html, containsString("'chunk-' + Math.floor(row / WISER_CHUNK_SIZE)"));
+        assertThat(html, containsString("chunk[row % WISER_CHUNK_SIZE]"));
+        final Matcher chunkSize = Pattern.compile("var WISER_CHUNK_SIZE = (\\d+);").matcher(html);
+        assertThat(chunkSize.find(), is(true));
+        final int size = Integer.parseInt(chunkSize.group(1));
+
+        final Path dataDir = config.getOutputHtmlDataRaw();
+        final String search = new String(Files.readAllBytes(config.getOutputHtmlSearchRaw()), StandardCharsets.UTF_8);
+        final JsonNode tokens = MAPPER_JSON.readTree(search.substring("var WISER_SEARCH = ".length(), search.length() - 2));
+        final String lastOfFirstPackage = readChunk(dataDir, "chunk-1").get(0).get(2).asText();
+        for (String name : List.of("test0", "test4999", lastOfFirstPackage, "disabled")) {
+            final JsonNode rows = tokens.get(name.toLowerCase());
+            assertThat(name, rows.size(), is(1));
+            final int row = rows.get(0).asInt();
+            assertThat(name, readChunk(dataDir, "chunk-" + row / size).get(row % size).get(2).asText(), is(name));
+        }
+        assertThat(tokens.get("other").get(0).asInt(), is(2 * size));
+    }
+
+    private static JsonNode readChunk(final Path dataDir, final String id) throws IOException {
+        final String content = new String(Files.readAllBytes(dataDir.resolve(id + ".js")), StandardCharsets.UTF_8);
+        final String prefix = "WISER.chunk(\"" + id + "\", ";
+        assertThat(content.startsWith(prefix), is(true));
+        assertThat(content.endsWith(");\n"), is(true));
+        return MAPPER_JSON.readTree(content.substring(prefix.length(), content.length() - 3));
+    }
+
+    static WiserJunitConfig config(final Path outputDir) {
+        final WiserJunitConfig config = new WiserJunitConfig();
+        config.setOutputDir(outputDir.toString());
+        config.setHistoryRuns(0);
+        return config;
+    }
+
+    static TestCase testCase(final String pkg, final String nameClass, final String nameTest) {
+        final TestCase testCase = new TestCase();
+        testCase.setPkg(pkg);
+        testCase.setNameClass(nameClass);
+        testCase.setNameTest(nameTest);
+        testCase.setNameDisplay(nameTest);
+        testCase.setTags(new TreeSet<>());
+        return testCase;
+    }
+}
@@ -0,0 +1,75 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.ReportGeneratorJson;
+import berlin.yuna.wiserjunit.model.ContainerCase;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_YAML;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class ReportGeneratorJsonTest {
+
+    @Test
+    void generateJson_shouldMatchWriteValue() throws IOException {
+        final Report report = report();
+        for (ObjectMapper mapper : List.of(MAPPER_JSON, MAPPER_YAML)) {
+            final byte[] expected = mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(report);
+            for (boolean compact : new boolean[]{false, true}) {
+                final ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+                ReportGeneratorJson.generateJson(report, streamed, mapper, compact);
+                //Same tree as writeValue - the streamed field order puts the node stats before the test cases
+                assertThat(mapper.readTree(streamed.toByteArray()), is(mapper.readTree(expected)));
+
+                final Report read = mapper.readValue(streamed.toByteArray(), Report.class);
+                assertThat(read.size(), is(report.size()));
+                assertThat(read.getContainers().size(), is(1));
+                //metaData.dateEnd is refreshed by calculate
+                final JsonNode readTree = mapper.valueToTree(read.calculate());
+                final JsonNode reportTree = mapper.valueToTree(report);
+                assertThat(readTree.get("testCases"), is(reportTree.get("testCases")));
+                assertThat(readTree.get("containers"), is(reportTree.get("containers")));
+            }
+        }
+    }
+
+    private static Report report() {
+        final Report report = new Report();
+        for (int i = 0; i < 6; i++) {
+            final TestCase testCase = new TestCase();
+            testCase.setPkg("berlin.yuna" + (i % 2));
+            testCase.setNameClass("Class" + (i % 3));
+            testCase.setNameTest("test" + i);
+            testCase.setNameDisplay("Test " + i);
+            testCase.setTags(new TreeSet<>(List.of("tag" + (i % 2))));
+            testCase.setBddMsgList(new ArrayList<>(List.of("GIVEN: " + i)));
+            testCase.setSuccess(i != 3);
+            testCase.setDisabled(i == 4);
+            testCase.setTimeStart(1000);
+            testCase.setTimeEnd(1000L + i);
+            testCase.setDurationNs(i * 1000000L);
+            report.add(testCase);
+        }
+        final ContainerCase container = new ContainerCase();
+        container.setPkg("berlin.yuna0");
+        container.setNameClass("Class0");
+        container.setDurationNs(42);
+        container.setTimeEnd(2000);
+        report.addContainer(container);
+        report.getMetaData().setTimeStart(1000);
+        return report.calculate();
+    }
+}
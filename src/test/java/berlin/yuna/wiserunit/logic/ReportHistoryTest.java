@@ -0,0 +1,127 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.ReportHistory;
+import berlin.yuna.wiserjunit.logic.ReportRun;
+import berlin.yuna.wiserjunit.model.HistoryEntry;
+import berlin.yuna.wiserjunit.model.HistoryRun;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class ReportHistoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void append_shouldFindTestsByIdAndApplyRetention() throws IOException {
+        final ReportHistory history = ReportHistory.of(tempDir, MAPPER_JSON);
+        //Left over from a segment which could not be deleted before
+        Files.write(tempDir.resolve("run-42.bin"), new byte[]{1});
+        for (int run = 1; run <= 4; run++) {
+            history.append(report(run), run * 1000L, 3, 0);
+            //Segments in use are released on expiry
+            assertThat(history.find(history.runs().get(0), idOf("test1")).isPresent(), is(true));
+        }
+        history.append(report(4), 4000L, 3, 0);
+
+        final List<HistoryRun> runs = history.runs();
+        assertThat(runs.stream().map(HistoryRun::getId).collect(Collectors.toList()), is(List.of("2000", "3000", "4000")));
+        assertThat(Files.exists(tempDir.resolve("run-1000.bin")), is(false));
+        assertThat(Files.exists(tempDir.resolve("run-42.bin")), is(false));
+
+        final Optional<HistoryEntry> entry = history.find(runs.get(2), idOf("test17"));
+        assertThat(entry.map(HistoryEntry::getDuration), is(Optional.of(4L * 17)));
+        assertThat(history.find(runs.get(0), "unknown").isPresent(), is(false));
+
+        final String id = idOf("test1");
+        assertThat(ReportHistory.sparkline(history.find(runs, id)), is("▁▄█"));
+    }
+
+    @Test
+    void find_shouldReadEachSegmentOnceUntilTheRunIsReplaced() throws IOException {
+        final ReportHistory history = ReportHistory.of(tempDir, MAPPER_JSON);
+        history.append(report(1), 1000L, 3, 0);
+        history.append(report(2), 2000L, 3, 0);
+        final List<HistoryRun> runs = history.runs();
+        final String id = idOf("test7");
+        assertThat(history.entries(runs.get(1)).size(), is(50));
+        assertThat(history.find(runs, id).stream().map(HistoryEntry::getDuration).collect(Collectors.toList()), is(List.of(7L, 14L)));
+        assertThat(history.find(runs, "unknown").isEmpty(), is(true));
+
+        //Cached entries don't touch the file again
+        Files.write(tempDir.resolve(runs.get(0).getSegment()), new byte[0]);
+        assertThat(history.find(runs, id).stream().map(HistoryEntry::getRunId).collect(Collectors.toList()), is(List.of("1000", "2000")));
+
+        //Replacing the run drops its cached entries
+        history.append(report(3), 2000L, 3, 0);
+        assertThat(history.find(history.runs(), id).stream().map(HistoryEntry::getDuration).collect(Collectors.toList()), is(List.of(7L, 21L)));
+    }
+
+    @Test
+    void append_shouldOnlyStoreTestsOfTheRunWhenTheReportIsKept() {
+        //generateNew: false - the merged report keeps the start and the test cases of the previous build
+        final ReportHistory history = ReportHistory.of(tempDir, MAPPER_JSON);
+        history.append(report(1), 1000L, 3, 0);
+        final Report kept = report(1);
+        report(2).stream().filter(testCase -> testCase.getNameTest().length() == 5).forEach(testCase -> {
+            kept.remove(testCase);
+            kept.add(testCase);
+        });
+        history.append(kept.calculate(), 2000L, 3, 0);
+
+        final List<HistoryRun> runs = history.runs();
+        assertThat(runs.stream().map(HistoryRun::getId).collect(Collectors.toList()), is(List.of("1000", "2000")));
+        assertThat(runs.get(1).getMetaData().getTestCases(), is(10));
+        assertThat(runs.get(1).getMetaData().getTimeStart(), is(2000L));
+        assertThat(history.find(runs.get(1), idOf("test17")).isPresent(), is(false));
+        assertThat(history.find(runs.get(0), idOf("test17")).isPresent(), is(true));
+        assertThat(history.find(runs.get(1), idOf("test7")).map(HistoryEntry::getDuration), is(Optional.of(2L * 7)));
+        assertThat(ReportHistory.sparkline(history.find(runs, idOf("test7"))), is("▁█"));
+    }
+
+    @Test
+    void join_shouldShareTheRunWhileOneOfItsProcessesIsAlive() {
+        final long pid = ProcessHandle.current().pid();
+        assertThat(ReportRun.join(tempDir, MAPPER_JSON, List.of(pid), 1000L), is(1000L));
+        assertThat(ReportRun.join(tempDir, MAPPER_JSON, List.of(Long.MAX_VALUE), 2000L), is(1000L));
+
+        assertThat(ReportRun.join(tempDir.resolve("dead"), MAPPER_JSON, List.of(Long.MAX_VALUE), 3000L), is(3000L));
+        assertThat(ReportRun.join(tempDir.resolve("dead"), MAPPER_JSON, List.of(pid), 4000L), is(4000L));
+    }
+
+    private static String idOf(final String nameTest) {
+        return report(1).stream().filter(testCase -> testCase.getNameTest().equals(nameTest)).findFirst().map(TestCase::getId).orElse("");
+    }
+
+    private static Report report(final int run) {
+        final Report report = new Report();
+        for (int i = 0; i < 50; i++) {
+            final TestCase testCase = new TestCase();
+            testCase.setPkg("berlin.yuna");
+            testCase.setNameClass("Class" + (i % 4));
+            testCase.setNameTest("test" + i);
+            testCase.setTags(new TreeSet<>());
+            testCase.setTimeStart(run * 1000L);
+            testCase.setTimeEnd(run * 1000L + (long) run * i);
+            report.add(testCase);
+        }
+        report.getMetaData().setTimeStart(run * 1000L);
+        return report.calculate();
+    }
+}
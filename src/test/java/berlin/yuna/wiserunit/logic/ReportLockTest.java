@@ -0,0 +1,90 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.ReportLock;
+import berlin.yuna.wiserjunit.model.exception.WiserExtensionException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("UnitTest")
+class ReportLockTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void exclusiveLock_shouldNotOverlap() throws InterruptedException {
+        final ReportLock lock = ReportLock.of(tempDir.resolve("exclusive.lock"));
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 64; i++) {
+            executor.submit(() -> lock.run(false, 10000, () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                active.decrementAndGet();
+            }));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS), is(true));
+        assertThat(maxActive.get(), is(1));
+        assertThat(lock.getAcquisitions(), is(64L));
+    }
+
+    @Test
+    void sharedLock_shouldAllowMultipleReaders() throws InterruptedException {
+        final ReportLock lock = ReportLock.of(tempDir.resolve("shared.lock"));
+        final CountDownLatch readers = new CountDownLatch(2);
+        final AtomicInteger concurrent = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 2; i++) {
+            executor.submit(() -> lock.run(true, 10000, () -> {
+                readers.countDown();
+                if (awaitQuietly(readers)) {
+                    concurrent.incrementAndGet();
+                }
+            }));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS), is(true));
+        //Both readers must have seen each other inside the lock - sequential readers would time out
+        assertThat(concurrent.get(), is(2));
+    }
+
+    @Test
+    void exclusiveLock_shouldTimeoutWhileShared() throws InterruptedException {
+        final ReportLock lock = ReportLock.of(tempDir.resolve("timeout.lock"));
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread reader = new Thread(() -> lock.run(true, 10000, () -> {
+            locked.countDown();
+            awaitQuietly(release);
+        }));
+        reader.start();
+        assertThat(locked.await(10, TimeUnit.SECONDS), is(true));
+        assertThrows(WiserExtensionException.class, () -> lock.run(false, 50, () -> {}));
+        release.countDown();
+        reader.join();
+        assertThat(lock.getTimeouts(), greaterThanOrEqualTo(1L));
+    }
+
+    private static boolean awaitQuietly(final CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
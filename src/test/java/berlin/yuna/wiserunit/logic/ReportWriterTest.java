@@ -0,0 +1,190 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.config.WiserJunitConfig;
+import berlin.yuna.wiserjunit.logic.ReportAccumulator;
+import berlin.yuna.wiserjunit.logic.ReportWriter;
+import berlin.yuna.wiserjunit.logic.ReportWriter.BackPressure;
+import berlin.yuna.wiserjunit.model.TestCase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static berlin.yuna.wiserunit.logic.ReportAccumulatorTest.testCase;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class ReportWriterTest {
+
+    @Test
+    void offer_shouldBlockWhenFull() throws InterruptedException {
+        final BlockingAccumulator accumulator = new BlockingAccumulator();
+        final ReportWriter writer = fill(accumulator, BackPressure.BLOCK);
+
+        final Thread third = offerAsync(writer, testCase("test3"));
+        assertThat(isWaiting(third), is(true));
+        assertThat(writer.size(), is(2));
+
+        accumulator.release.countDown();
+        third.join(10000);
+        writer.flush();
+        assertThat(accumulator.names(), is(List.of("test1", "test2", "test3")));
+        assertThat(accumulator.flows(), is(List.of(1, 1, 1)));
+        assertThat(writer.size(), is(0));
+    }
+
+    @Test
+    void offer_shouldDropDetailAndStayBounded() throws InterruptedException {
+        final BlockingAccumulator accumulator = new BlockingAccumulator();
+        final ReportWriter writer = fill(accumulator, BackPressure.DROP_DETAIL);
+
+        final Thread third = offerAsync(writer, testCase("test3"));
+        assertThat(isWaiting(third), is(true));
+        assertThat(writer.size(), is(2));
+
+        accumulator.release.countDown();
+        third.join(10000);
+        writer.flush();
+        assertThat(accumulator.names(), is(List.of("test1", "test2", "test3")));
+        assertThat(accumulator.flows(), is(List.of(1, 1, 0)));
+    }
+
+    @Test
+    void offer_shouldSpillInOfferOrder() throws InterruptedException {
+        final BlockingAccumulator accumulator = new BlockingAccumulator();
+        final ReportWriter writer = fill(accumulator, BackPressure.SPILL);
+
+        //Test thread waits for the running batch and writes the queue before its own test case
+        final Thread third = offerAsync(writer, testCase("test3"));
+        assertThat(isWaiting(third), is(true));
+        accumulator.release.countDown();
+        third.join(10000);
+        assertThat(accumulator.names(), is(List.of("test1", "test2", "test3")));
+        assertThat(accumulator.threads.get(2), is(third.getName()));
+        assertThat(writer.size(), is(0));
+    }
+
+    @Test
+    void flush_shouldWriteAllOfferedTestCases() throws InterruptedException {
+        final BlockingAccumulator accumulator = new BlockingAccumulator();
+        accumulator.release.countDown();
+        final ReportWriter writer = new ReportWriter(accumulator, 16, BackPressure.BLOCK);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            final int offset = thread;
+            executor.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    writer.offer(testCase("test" + offset + "_" + i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS), is(true));
+        writer.flush();
+        assertThat(accumulator.size(), is(1000));
+        assertThat(writer.size(), is(0));
+    }
+
+    @Test
+    void flush_shouldWriteTestCasesOfferedConcurrently() throws InterruptedException {
+        final BlockingAccumulator accumulator = new BlockingAccumulator();
+        accumulator.release.countDown();
+        final ReportWriter writer = new ReportWriter(accumulator, 1024, BackPressure.BLOCK);
+        final AtomicInteger offered = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            final int offset = thread;
+            executor.submit(() -> {
+                for (int i = 0; i < 2500; i++) {
+                    writer.offer(testCase("test" + offset + "_" + i));
+                    offered.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        //Every offer which returned before the flush has to be written by it - also the ones the writer thread did not see yet
+        while (!executor.isTerminated()) {
+            final int before = offered.get();
+            writer.flush();
+            assertThat(accumulator.size() >= before, is(true));
+        }
+        writer.flush();
+        assertThat(accumulator.size(), is(10000));
+    }
+
+    /**
+     * Writer with capacity 2 - the first test case is blocked inside the accumulator and the second one is queued
+     */
+    private static ReportWriter fill(final BlockingAccumulator accumulator, final BackPressure backPressure) throws InterruptedException {
+        final ReportWriter writer = new ReportWriter(accumulator, 2, backPressure);
+        writer.offer(flow(testCase("test1")));
+        assertThat(accumulator.entered.await(10, TimeUnit.SECONDS), is(true));
+        writer.offer(flow(testCase("test2")));
+        return writer;
+    }
+
+    private static TestCase flow(final TestCase testCase) {
+        testCase.setBddMsgList(new ArrayList<>(List.of("GIVEN: flow")));
+        return testCase;
+    }
+
+    private static Thread offerAsync(final ReportWriter writer, final TestCase testCase) {
+        final Thread thread = new Thread(() -> writer.offer(flow(testCase)), "offer-" + testCase.getNameTest());
+        thread.start();
+        return thread;
+    }
+
+    private static boolean isWaiting(final Thread thread) throws InterruptedException {
+        thread.join(200);
+        return thread.isAlive();
+    }
+
+    private static class BlockingAccumulator extends ReportAccumulator {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<TestCase> written = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+        private BlockingAccumulator() {
+            super(new WiserJunitConfig());
+        }
+
+        @Override
+        public void addAll(final Collection<TestCase> testCases) {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (TestCase testCase : testCases) {
+                written.add(testCase);
+                threads.add(Thread.currentThread().getName());
+            }
+        }
+
+        @Override
+        public int size() {
+            return written.size();
+        }
+
+        private List<String> names() {
+            return written.stream().map(TestCase::getNameTest).collect(Collectors.toList());
+        }
+
+        private List<Integer> flows() {
+            return written.stream().map(testCase -> testCase.getBddMsgList().size()).collect(Collectors.toList());
+        }
+    }
+}
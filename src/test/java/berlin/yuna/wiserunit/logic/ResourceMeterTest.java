@@ -0,0 +1,32 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.ResourceMeter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class ResourceMeterTest {
+
+    @Test
+    void delta_shouldBeUnsupportedIfOneCounterIsUnsupported() {
+        assertThat(ResourceMeter.delta(-1, 5), is(-1L));
+        assertThat(ResourceMeter.delta(5, -1), is(-1L));
+        assertThat(ResourceMeter.delta(-1, -1), is(-1L));
+        assertThat(ResourceMeter.delta(5, 8), is(3L));
+        assertThat(ResourceMeter.delta(0, 0), is(0L));
+    }
+
+    @Test
+    void counters_shouldNotDecrease() {
+        final long allocated = ResourceMeter.allocatedBytes();
+        final long cpu = ResourceMeter.cpuTimeNs();
+        final byte[] bytes = new byte[4096];
+        assertThat(bytes.length, is(4096));
+        assertThat(ResourceMeter.delta(allocated, ResourceMeter.allocatedBytes()), greaterThanOrEqualTo(allocated < 0 ? -1L : 0L));
+        assertThat(ResourceMeter.delta(cpu, ResourceMeter.cpuTimeNs()), greaterThanOrEqualTo(cpu < 0 ? -1L : 0L));
+    }
+}
@@ -0,0 +1,106 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.SearchIndex;
+import berlin.yuna.wiserjunit.model.TestCase;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+import static berlin.yuna.wiserunit.logic.ReportGeneratorHtmlTest.testCase;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class SearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void add_shouldTokenizeNameClassTagsAndError() throws IOException {
+        final TestCase testCase = testCase("a.pkg", "UserServiceTest", "should find_user-by ID 42 x");
+        testCase.setTags(new TreeSet<>(Set.of("Slow-IT")));
+        testCase.setErrorType("java.lang.AssertionError");
+        testCase.setErrorMsg("Größe: expected <1>");
+        final SearchIndex search = new SearchIndex();
+        search.add(3, testCase);
+
+        final JsonNode tokens = read(search);
+        assertThat(keys(tokens), is(List.of("42", "assertionerror", "by", "expected", "find", "größe", "id", "it", "java", "lang", "should", "slow", "user", "userservicetest")));
+        assertThat(tokens.get("userservicetest").toString(), is("[3]"));
+        assertThat(search.size(), is(14));
+    }
+
+    @Test
+    void add_shouldLimitTokensOfErrorMessage() throws IOException {
+        final TestCase testCase = testCase("a.pkg", "Cls", "test");
+        testCase.setErrorMsg(IntStream.range(0, 100).mapToObj(i -> "word" + i).collect(Collectors.joining(" ")));
+        final SearchIndex search = new SearchIndex();
+        search.add(0, testCase);
+
+        final JsonNode tokens = read(search);
+        assertThat(tokens.has("word63"), is(true));
+        assertThat(tokens.has("word64"), is(false));
+        assertThat(tokens.size(), is(64 + 2));
+    }
+
+    @Test
+    void add_shouldStoreEachRowOncePerToken() throws IOException {
+        final SearchIndex search = new SearchIndex();
+        final TestCase first = testCase("a.pkg", "Login", "login login");
+        first.setTags(new TreeSet<>(Set.of("login")));
+        search.add(1, first);
+        search.add(2, testCase("a.pkg", "Login", "logout"));
+        search.add(5000, testCase("b.pkg", "Other", "login"));
+
+        final JsonNode tokens = read(search);
+        assertThat(tokens.get("login").toString(), is("[1,2,5000]"));
+        assertThat(tokens.get("logout").toString(), is("[2]"));
+    }
+
+    @Test
+    void write_shouldWriteStaticScript() throws IOException {
+        final SearchIndex search = new SearchIndex();
+        search.add(7, testCase("a.pkg", "Cls", "say \"hello\" </script>"));
+        final Path target = tempDir.resolve("report-search.js");
+        search.write(target, MAPPER_JSON);
+
+        final String content = new String(Files.readAllBytes(target), StandardCharsets.UTF_8);
+        assertThat(content, is("var WISER_SEARCH = {\"cls\":[7],\"hello\":[7],\"say\":[7],\"script\":[7]};\n"));
+        assertThat(content, is(write(search)));
+    }
+
+    private static JsonNode read(final SearchIndex search) throws IOException {
+        final String content = write(search);
+        final String prefix = "var WISER_SEARCH = ";
+        assertThat(content.startsWith(prefix), is(true));
+        assertThat(content.endsWith(";\n"), is(true));
+        return MAPPER_JSON.readTree(content.substring(prefix.length(), content.length() - 2));
+    }
+
+    private static String write(final SearchIndex search) throws IOException {
+        final StringWriter out = new StringWriter();
+        search.write(out, MAPPER_JSON);
+        return out.toString();
+    }
+
+    private static List<String> keys(final JsonNode tokens) {
+        final List<String> result = new ArrayList<>();
+        tokens.fieldNames().forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.WiserReportExtension;
+import berlin.yuna.wiserjunit.model.TestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+@Tag("UnitTest")
+class WiserReportExtensionTest {
+
+    private static final Map<Class<?>, TestCase> RESULTS = new ConcurrentHashMap<>();
+
+    @Test
+    void afterEach_shouldSplitBeforeEachBodyAndAfterEach() {
+        final TestCase testCase = execute(AfterEachSlow.class, 0);
+        assertThat(testCase.getBeforeEachNs(), greaterThanOrEqualTo(MILLISECONDS.toNanos(30)));
+        assertThat(testCase.getBodyNs(), greaterThanOrEqualTo(MILLISECONDS.toNanos(20)));
+        assertThat(testCase.getAfterEachNs(), greaterThanOrEqualTo(MILLISECONDS.toNanos(50)));
+        assertThat(testCase.getDurationNs(), is(testCase.getBeforeEachNs() + testCase.getBodyNs() + testCase.getAfterEachNs()));
+    }
+
+    @Test
+    void afterEach_shouldCountFailedBeforeEachAsSetup() {
+        final TestCase testCase = execute(BeforeEachFails.class, 1);
+        assertThat(testCase.isFailed(), is(true));
+        assertThat(testCase.getErrorType(), is("IllegalStateException"));
+        assertThat(testCase.getBeforeEachNs(), greaterThanOrEqualTo(MILLISECONDS.toNanos(30)));
+        assertThat(testCase.getBeforeEachNs(), is(testCase.getDurationNs()));
+        assertThat(testCase.getBodyNs(), is(-1L));
+        assertThat(testCase.getAfterEachNs(), is(-1L));
+    }
+
+    private static TestCase execute(final Class<?> fixture, final long failures) {
+        //Without the auto registered WiserReportListener, which would render the report of this build
+        final Launcher launcher = LauncherFactory.create(LauncherConfig.builder().enableTestExecutionListenerAutoRegistration(false).build());
+        final SummaryGeneratingListener summary = new SummaryGeneratingListener();
+        launcher.execute(LauncherDiscoveryRequestBuilder.request().selectors(selectClass(fixture)).build(), summary);
+        assertThat(summary.getSummary().getTestsStartedCount(), is(1L));
+        assertThat(summary.getSummary().getTotalFailureCount(), is(failures));
+        return RESULTS.get(fixture);
+    }
+
+    private static void sleep(final long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Registered before the {@link WiserReportExtension} so that its {@code afterEach} runs after the one of the extension
+     */
+    static class Capture implements AfterEachCallback {
+
+        @Override
+        public void afterEach(final ExtensionContext context) {
+            final TestCase testCase = context.getStore(ExtensionContext.Namespace.create("berlin", "yuna", "WISER_REPORT")).get("TEST_CASE", TestCase.class);
+            RESULTS.put(context.getRequiredTestClass(), testCase);
+        }
+    }
+
+    @ExtendWith({Capture.class, WiserReportExtension.class})
+    static class AfterEachSlow {
+
+        @BeforeEach
+        void setUp() {
+            sleep(30);
+        }
+
+        @Test
+        void body() {
+            sleep(20);
+        }
+
+        @AfterEach
+        void tearDown() {
+            sleep(50);
+        }
+    }
+
+    @ExtendWith({Capture.class, WiserReportExtension.class})
+    static class BeforeEachFails {
+
+        @BeforeEach
+        void setUp() {
+            sleep(30);
+            throw new IllegalStateException("setup failed");
+        }
+
+        @Test
+        void body() {
+        }
+    }
+}
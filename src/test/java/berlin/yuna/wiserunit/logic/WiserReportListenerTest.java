@@ -0,0 +1,49 @@
+package berlin.yuna.wiserunit.logic;
+
+import berlin.yuna.wiserjunit.logic.WiserReportListener;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+@Tag("UnitTest")
+class WiserReportListenerTest {
+
+    @Test
+    void testPlanExecutionFinished_shouldRenderOnceAndOnlyIfCollected() {
+        //Renders the report of the tests before, so that it is not replaced by the counter
+        WiserReportListener.renderPending();
+        final AtomicInteger renders = new AtomicInteger();
+        WiserReportListener.markPending(renders::incrementAndGet);
+        WiserReportListener.markPending(renders::incrementAndGet);
+
+        //The listener is registered via the ServiceLoader
+        execute();
+        assertThat(renders.get(), is(1));
+
+        execute();
+        assertThat(renders.get(), is(1));
+    }
+
+    private static void execute() {
+        final SummaryGeneratingListener summary = new SummaryGeneratingListener();
+        LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request().selectors(selectClass(Plain.class)).build(), summary);
+        assertThat(summary.getSummary().getTestsSucceededCount(), is(1L));
+    }
+
+    //Collects nothing as the report extension is not registered
+    static class Plain {
+
+        @Test
+        void test() {
+            assertThat(true, is(true));
+        }
+    }
+}
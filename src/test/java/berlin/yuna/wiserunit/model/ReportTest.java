@@ -0,0 +1,137 @@
+package berlin.yuna.wiserunit.model;
+
+import berlin.yuna.wiserjunit.logic.ReportGeneratorJson;
+import berlin.yuna.wiserjunit.model.ContainerCase;
+import berlin.yuna.wiserjunit.model.Report;
+import berlin.yuna.wiserjunit.model.TestCase;
+import berlin.yuna.wiserjunit.model.TestCaseNode;
+import berlin.yuna.wiserjunit.model.ValuePool;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static berlin.yuna.wiserjunit.config.WiserJunitConfig.MAPPER_JSON;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+@Tag("UnitTest")
+class ReportTest {
+
+    @Test
+    void calculate_shouldRollUpPackagesClassesAndMethods() {
+        final Report report = new Report();
+        report.add(testCase("a.b", "First", "one", 10, true, false));
+        report.add(testCase("a.b", "First", "two", 30, false, false));
+        report.add(testCase("a.b", "Second", "one", 5, true, true));
+        report.add(testCase("c", "Third", "one", 7, true, false));
+
+        report.calculate();
+        assertThat(report.getMetaData().getTestCases(), is(4));
+        assertThat(report.getMetaData().getTestCasesFailed(), is(1));
+        assertThat(report.getMetaData().getTestCasesDisabled(), is(1));
+        assertThat(report.getMetaData().getTestCasesSucceed(), is(2));
+        assertThat(report.getMetaData().getDuration(), is(52L));
+
+        final TestCaseNode pkg = report.getTestCases().getChildren().iterator().next();
+        final TestCaseNode cls = pkg.getChildren().iterator().next();
+        assertThat(report.getTestCases().getChildren().size(), is(2));
+        assertThat(pkg.getName(), is("a.b"));
+        assertThat(pkg.getCount(), is(3));
+        assertThat(pkg.getDurationTotal(), is(45L));
+        assertThat(cls.getName(), is("First"));
+        assertThat(cls.getDurationMax(), is(30L));
+        assertThat(cls.getFailureRate(), is(50f));
+        assertThat(cls.getChildren().size(), is(2));
+        assertThat(cls.getChildren().iterator().next().getTestCases().isEmpty(), is(true));
+
+        report.calculate();
+        assertThat(report.getTestCases().getCount(), is(4));
+        assertThat(report.getTestCases().getChildren().size(), is(2));
+    }
+
+    @Test
+    void calculate_shouldKeepMethodsOfSameNamedClassesApart() {
+        final Report report = new Report();
+        report.add(testCase("a", "FooTest", "run", 10, true, false));
+        report.add(testCase("b", "FooTest", "run", 20, false, false));
+        //Package named like a class of another package
+        report.add(testCase("FooTest", "run", "other", 5, true, false));
+
+        report.calculate();
+        assertThat(report.getTestCases().getChildren().size(), is(3));
+        for (TestCaseNode pkg : report.getTestCases().getChildren()) {
+            final TestCaseNode cls = pkg.getChildren().iterator().next();
+            final TestCaseNode method = cls.getChildren().iterator().next();
+            assertThat(pkg.getName(), pkg.getChildren().size(), is(1));
+            assertThat(pkg.getName(), cls.getChildren().size(), is(1));
+            assertThat(pkg.getName(), method.getCount(), is(1));
+            assertThat(pkg.getName(), method.getDurationTotal(), is(pkg.getDurationTotal()));
+        }
+    }
+
+    @Test
+    void calculate_shouldAttachContainersToClassNodes() throws Exception {
+        final Report report = new Report();
+        report.add(testCase("a.b", "First", "one", 10, true, false));
+        report.addContainer(container("a.b", "First", 100));
+        report.addContainer(container("a.b", "Outer", 200));
+        report.addContainer(container("a.b", "First", 300));
+
+        report.calculate();
+        final TestCaseNode pkg = report.getTestCases().getChildren().iterator().next();
+        assertThat(pkg.getChildren().size(), is(2));
+        assertThat(pkg.getChildren().iterator().next().getContainer().getDurationNs(), is(300L));
+        assertThat(pkg.getChildren().iterator().next().getContainer().getFixtureNs(), is(30L));
+
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        ReportGeneratorJson.generateJson(report, json, MAPPER_JSON, true);
+        final Report result = MAPPER_JSON.readValue(json.toByteArray(), Report.class).calculate();
+        assertThat(result.getContainers().size(), is(2));
+        assertThat(result.getContainer("a.b.Outer").map(ContainerCase::getBeforeAllNs).orElse(-1L), is(20L));
+    }
+
+    @Test
+    void testCase_shouldDeriveIdAndOrderWithoutStoringIt() {
+        final TestCase first = testCase("a.b", "First", "one", 10, true, false);
+        final TestCase second = testCase("a.b", "first", "Two", 10, true, false);
+        second.setTags(new TreeSet<>(Set.of("Unit", "Slow")));
+        second.addBddMeg("given");
+        second.addBddMeg("then");
+
+        assertThat(first.getId(), is("a.b.First.default.one"));
+        assertThat(second.getId(), is("a.b.first.Slow.Unit.Two"));
+        assertThat(second.getGroup(), is("Slow.Unit.Two"));
+        assertThat(second.getBddText(), is("giventhen"));
+        assertThat(second.getTags(), is(sameInstance(ValuePool.of(new TreeSet<>(Set.of("Slow", "Unit"))))));
+        assertThat(Integer.signum(first.compareTo(second)), is(Integer.signum(String.CASE_INSENSITIVE_ORDER.compare(first.getId(), second.getId()))));
+        assertThat(first.equals(testCase("a.b", "First", "one", 99, false, false)), is(true));
+        assertThat(first.hashCode(), is(first.getId().hashCode()));
+    }
+
+    private static ContainerCase container(final String pkg, final String cls, final long durationNs) {
+        final ContainerCase container = new ContainerCase();
+        container.setPkg(pkg);
+        container.setNameClass(cls);
+        container.setDurationNs(durationNs);
+        container.setBeforeAllNs(durationNs / 10);
+        container.setAfterAllNs(0);
+        return container;
+    }
+
+    private static TestCase testCase(final String pkg, final String cls, final String method, final long duration, final boolean success, final boolean disabled) {
+        final TestCase testCase = new TestCase();
+        testCase.setPkg(pkg);
+        testCase.setNameClass(cls);
+        testCase.setNameTest(method);
+        testCase.setTags(new TreeSet<>());
+        testCase.setTimeStart(0);
+        testCase.setTimeEnd(duration);
+        testCase.setSuccess(success);
+        testCase.setDisabled(disabled);
+        return testCase;
+    }
+}
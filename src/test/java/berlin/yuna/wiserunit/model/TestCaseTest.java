@@ -0,0 +1,97 @@
+package berlin.yuna.wiserunit.model;
+
+import berlin.yuna.wiserjunit.model.TestCase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static berlin.yuna.wiserjunit.model.TestCase.formatDecimal;
+import static berlin.yuna.wiserjunit.model.TestCase.toPrettyBytes;
+import static berlin.yuna.wiserjunit.model.TestCase.toPrettyDuration;
+import static berlin.yuna.wiserjunit.model.TestCase.toPrettyNanos;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@Tag("UnitTest")
+class TestCaseTest {
+
+    @Test
+    void formatDecimal_shouldBeThreadSafe() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<Boolean>> results = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            final int offset = thread;
+            results.add(executor.submit(() -> {
+                final DecimalFormat expected = new DecimalFormat("0.00");
+                for (int i = 0; i < 20000; i++) {
+                    final double value = offset * 100000 + i / 7d;
+                    if (!expected.format(value).equals(TestCase.formatDecimal(value))) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS), is(true));
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(), is(true));
+        }
+    }
+
+    @Test
+    void toPrettyNanos_shouldUseMicrosBelowOneMillisecond() {
+        assertThat(toPrettyNanos(0), is(formatDecimal(0) + "µs"));
+        assertThat(toPrettyNanos(1500), is(formatDecimal(1.5) + "µs"));
+        assertThat(toPrettyNanos(999_990), is(formatDecimal(999.99) + "µs"));
+        assertThat(toPrettyNanos(1_000_000), is("1ms"));
+        assertThat(toPrettyNanos(2_500_000), is("2ms"));
+        assertThat(toPrettyNanos(1_500_000_000), is(formatDecimal(1.5) + "s"));
+    }
+
+    @Test
+    void toPrettyDuration_shouldSwitchUnitsAtTheirThresholds() {
+        assertThat(toPrettyDuration(999), is("999ms"));
+        assertThat(toPrettyDuration(1000), is(formatDecimal(1) + "s"));
+        assertThat(toPrettyDuration(59_999), is(formatDecimal(60) + "s"));
+        assertThat(toPrettyDuration(60_000), is(formatDecimal(1) + "m"));
+        assertThat(toPrettyDuration(90_000), is(formatDecimal(1.5) + "m"));
+        assertThat(toPrettyDuration(3_600_000), is(formatDecimal(1) + "h"));
+        assertThat(toPrettyDuration(86_400_000), is(formatDecimal(1) + "d"));
+        assertThat(toPrettyDuration(129_600_000), is(formatDecimal(1.5) + "d"));
+        assertThat(toPrettyDuration(604_800_000), is(formatDecimal(1) + "w"));
+        assertThat(toPrettyDuration(1_209_600_000), is(formatDecimal(2) + "w"));
+    }
+
+    @Test
+    void toPrettyBytes_shouldSwitchUnitsAtTheirThresholds() {
+        assertThat(toPrettyBytes(0), is("0B"));
+        assertThat(toPrettyBytes(1023), is("1023B"));
+        assertThat(toPrettyBytes(1024), is(formatDecimal(1) + "KB"));
+        assertThat(toPrettyBytes(1536), is(formatDecimal(1.5) + "KB"));
+        assertThat(toPrettyBytes(1_048_576), is(formatDecimal(1) + "MB"));
+        assertThat(toPrettyBytes(1_073_741_823), is(formatDecimal(1024) + "MB"));
+        assertThat(toPrettyBytes(1_073_741_824), is(formatDecimal(1) + "GB"));
+    }
+
+    @Test
+    void getCpuRatio_shouldBeUnsupportedWithoutMeasuredBody() {
+        final TestCase testCase = new TestCase();
+        assertThat(testCase.getCpuRatio(), is(-1d));
+        testCase.setCpuNs(3);
+        assertThat(testCase.getCpuRatio(), is(-1d));
+        testCase.setBodyNs(0);
+        assertThat(testCase.getCpuRatio(), is(-1d));
+        testCase.setBodyNs(2);
+        assertThat(testCase.getCpuRatio(), is(1.5d));
+        testCase.setCpuNs(-1);
+        assertThat(testCase.getCpuRatio(), is(-1d));
+    }
+}
@@ -0,0 +1,28 @@
+package berlin.yuna.wiserunit.model;
+
+import berlin.yuna.wiserjunit.model.ValuePool;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+@Tag("UnitTest")
+class ValuePoolTest {
+
+    @Test
+    void of_shouldNotKeyOnTheMutableInput() {
+        final TreeSet<String> tags = new TreeSet<>(Set.of("PoolA", "PoolB"));
+        final Set<String> pooled = ValuePool.of(tags);
+        tags.add("PoolC");
+
+        assertThat(pooled, is(Set.of("PoolA", "PoolB")));
+        assertThat(ValuePool.of(new TreeSet<>(Set.of("PoolA", "PoolB"))), is(sameInstance(pooled)));
+        assertThat(ValuePool.of(tags), is(Set.of("PoolA", "PoolB", "PoolC")));
+        assertThat(ValuePool.of(new TreeSet<>(tags)), is(sameInstance(ValuePool.of(tags))));
+    }
+}